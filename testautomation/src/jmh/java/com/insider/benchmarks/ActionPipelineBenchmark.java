@@ -0,0 +1,32 @@
+package com.insider.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The find/wait/click pipeline behind ElementHelper actions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ActionPipelineBenchmark {
+
+    @Benchmark
+    public void click(DriverBenchmarkState state) {
+        state.elementHelper.click("seeAllQAjobs");
+    }
+
+    @Benchmark
+    public boolean isElementVisible(DriverBenchmarkState state) {
+        return state.elementHelper.isElementVisible("careerLocationBlock");
+    }
+}
@@ -0,0 +1,69 @@
+package com.insider.benchmarks;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Paths;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Creates the driver a benchmark runs against, selected with {@code -Dbenchmark.driver}:
+ * {@code stub} (default) for the in-memory {@link StubWebDriver}, or {@code chrome} for
+ * headless Chrome on the local careers fixture page.
+ */
+final class BenchmarkDrivers {
+    private static final String FIXTURE = "fixtures/careers.html";
+
+    private static final String FILL_ROWS_SCRIPT = """
+            var list = document.getElementById('jobs-list'), template = list.children[0];
+            while (list.children.length > 1) { list.removeChild(list.lastChild); }
+            for (var i = 1; i < arguments[0]; i++) { list.appendChild(template.cloneNode(true)); }
+            """;
+
+    private BenchmarkDrivers() {
+    }
+
+    static boolean isChrome() {
+        return "chrome".equalsIgnoreCase(System.getProperty("benchmark.driver", "stub"));
+    }
+
+    /**
+     * @param commandLatencyMicros Simulated round trip per command for the stub; ignored for Chrome.
+     */
+    static WebDriver create(long commandLatencyMicros) {
+        if (!isChrome()) {
+            return new StubWebDriver(commandLatencyMicros * 1000);
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--window-size=1366,768", "--disable-notifications");
+        WebDriver driver = new ChromeDriver(options);
+        driver.get(fixtureUrl());
+        return driver;
+    }
+
+    /**
+     * Makes the job list contain the given number of rows.
+     */
+    static void setRowCount(WebDriver driver, int rows) {
+        if (driver instanceof StubWebDriver stub) {
+            stub.setRowCount(rows);
+        } else {
+            ((JavascriptExecutor) driver).executeScript(FILL_ROWS_SCRIPT, rows);
+        }
+    }
+
+    static String fixtureUrl() {
+        URL fixture = BenchmarkDrivers.class.getClassLoader().getResource(FIXTURE);
+        if (fixture == null) {
+            throw new IllegalStateException("Cannot find " + FIXTURE + " on the test classpath");
+        }
+        try {
+            return Paths.get(fixture.toURI()).toUri().toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.insider.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import com.insider.helper.ElementHelper;
+
+/**
+ * One driver and ElementHelper per benchmark thread. The benchmark profile runs with
+ * {@code -Dlog.level=OFF -Dlog.file=none}, so the helper's logging does not end up in
+ * the measurement.
+ */
+@State(Scope.Thread)
+public class DriverBenchmarkState {
+
+    /** Simulated WebDriver round trip per command, in microseconds; stub driver only. */
+    @Param({"0", "500"})
+    public long commandLatencyMicros;
+
+    public WebDriver driver;
+    public ElementHelper elementHelper;
+
+    @Setup
+    public void setUp() {
+        driver = BenchmarkDrivers.create(commandLatencyMicros);
+        elementHelper = new ElementHelper(driver);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+    }
+}
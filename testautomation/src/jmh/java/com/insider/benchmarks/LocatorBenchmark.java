@@ -0,0 +1,64 @@
+package com.insider.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.insider.helper.JsonReader;
+import com.insider.helper.Locator;
+import com.insider.helper.LocatorRegistry;
+
+/**
+ * Locator resolution from locators.json: lookups in the shared registry against parsing
+ * and compiling the file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Lookup {
+        @Param({"company", "jobTitles", "istanbulTurkeyFilter"})
+        public String elementName;
+
+        private LocatorRegistry registry;
+        private JsonReader jsonReader;
+
+        @Setup
+        public void setUp() {
+            registry = LocatorRegistry.of(LocatorRegistry.DEFAULT_FILES);
+            jsonReader = new JsonReader();
+        }
+    }
+
+    @Benchmark
+    public Locator registryLookup(Lookup lookup) {
+        return lookup.registry.get(lookup.elementName);
+    }
+
+    @Benchmark
+    public Locator jsonLookupAndCompile(Lookup lookup) {
+        return Locator.compile(lookup.elementName,
+                lookup.jsonReader.getLocatorType(lookup.elementName),
+                lookup.jsonReader.getLocatorValue(lookup.elementName));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public LocatorRegistry loadAndValidateAll() {
+        return LocatorRegistry.of(LocatorRegistry.DEFAULT_FILES);
+    }
+}
@@ -0,0 +1,320 @@
+package com.insider.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+
+/**
+ * In-memory WebDriver that answers the scripts and commands ElementHelper issues with
+ * canned results. Every command can be charged a fixed latency to model the wire round
+ * trip, so fewer commands show up as faster benchmarks.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot, Interactive {
+    private static final String WINDOW = "stub-window";
+
+    private final long commandLatencyNanos;
+    private final AtomicLong commands = new AtomicLong();
+    private final StubElement element = new StubElement();
+    private final byte[] screenshot = renderScreenshot();
+    private volatile int rowCount = 10;
+    private volatile String currentUrl = "about:blank";
+
+    public StubWebDriver(long commandLatencyNanos) {
+        this.commandLatencyNanos = commandLatencyNanos;
+    }
+
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public long commandCount() {
+        return commands.get();
+    }
+
+    private void command() {
+        commands.incrementAndGet();
+        if (commandLatencyNanos > 0) {
+            LockSupport.parkNanos(commandLatencyNanos);
+        }
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        command();
+        if (script.contains("findFirst(arguments[0], arguments[1])")) {
+            return Map.of("element", element, "visible", true, "scrolled", false);
+        }
+        if (script.contains("findAll(arguments[0], arguments[1]).map")) {
+            List<Object> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(Map.of("element", element, "text", "Quality Assurance Engineer " + i, "visible", true));
+            }
+            return rows;
+        }
+        if (script.contains("document.readyState")) {
+            return "complete";
+        }
+        if (script.contains("scrollHeight")) {
+            return 1000L;
+        }
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        command();
+        if (script.contains("elementFromPoint")) {
+            return Map.of("element", element, "state", "ready", "checks", 2L);
+        }
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        command();
+        return target.convertFromPngBytes(screenshot);
+    }
+
+    @Override
+    public void perform(Collection<Sequence> actions) {
+        command();
+    }
+
+    @Override
+    public void resetInputState() {
+        command();
+    }
+
+    @Override
+    public void get(String url) {
+        command();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        command();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        command();
+        return "Stub";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command();
+        return List.of(element);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command();
+        return element;
+    }
+
+    @Override
+    public String getPageSource() {
+        command();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        command();
+    }
+
+    @Override
+    public void quit() {
+        command();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        command();
+        return Set.of(WINDOW);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        command();
+        return WINDOW;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return stub(TargetLocator.class);
+    }
+
+    @Override
+    public Navigation navigate() {
+        return stub(Navigation.class);
+    }
+
+    @Override
+    public Options manage() {
+        return stub(Options.class);
+    }
+
+    /**
+     * Proxies the fluent helper interfaces: calls returning another helper interface get a
+     * stub of it, calls returning the driver get this driver, everything else returns null.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == WebDriver.class) {
+                        return this;
+                    }
+                    if (returnType.isInterface() && returnType.getEnclosingClass() == WebDriver.class) {
+                        return stub(returnType);
+                    }
+                    command();
+                    return null;
+                });
+    }
+
+    private static byte[] renderScreenshot() {
+        BufferedImage image = new BufferedImage(1366, 768, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y += 8) {
+            for (int x = 0; x < image.getWidth(); x += 8) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", bytes);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class StubElement implements WebElement {
+
+        @Override
+        public void click() {
+            command();
+        }
+
+        @Override
+        public void submit() {
+            command();
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            command();
+        }
+
+        @Override
+        public void clear() {
+            command();
+        }
+
+        @Override
+        public String getTagName() {
+            command();
+            return "a";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            command();
+            return "class".equals(name) ? "btn" : null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            command();
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            command();
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            command();
+            return "Quality Assurance Engineer";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            command();
+            return List.of(this);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            command();
+            return this;
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            command();
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            command();
+            return new Point(10, 10);
+        }
+
+        @Override
+        public Dimension getSize() {
+            command();
+            return new Dimension(100, 30);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            command();
+            return new Rectangle(10, 10, 30, 100);
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            command();
+            return "opacity".equals(propertyName) ? "1" : "none";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            command();
+            return target.convertFromPngBytes(screenshot);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.insider.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * verifyTextInElements over job lists of different lengths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TextVerificationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Rows {
+        @Param({"10", "100", "1000"})
+        public int rows;
+
+        @Setup
+        public void setUp(DriverBenchmarkState state) {
+            BenchmarkDrivers.setRowCount(state.driver, rows);
+        }
+    }
+
+    @Benchmark
+    public boolean verifyTextInElements(DriverBenchmarkState state, Rows rows) {
+        return state.elementHelper.verifyTextInElements("jobTitles", "Quality Assurance");
+    }
+}
@@ -0,0 +1,187 @@
+package com.insider.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Run-wide settings, loaded once and immutable afterwards. Each key is resolved from the
+ * following layers, later ones winning:
+ * <ol>
+ *   <li>built-in defaults,</li>
+ *   <li>{@code config.properties} on the classpath, which must exist,</li>
+ *   <li>the run profile {@code profiles/<name>.properties}, chosen with {@code run.profile}
+ *       ({@code fast-ci}, {@code debug-visual}, {@code load}),</li>
+ *   <li>environment variables: the key upper-cased with dots as underscores and an
+ *       {@code INSIDER_} prefix, e.g. {@code INSIDER_WAIT_TIMEOUTMILLIS},</li>
+ *   <li>system properties, e.g. {@code -Dwait.timeoutMillis=20000}.</li>
+ * </ol>
+ * @param profile The run profile, {@code default} if none was chosen.
+ * @param baseUrl The page every test class starts from.
+ * @param highlightElements Whether elements are outlined before they are used.
+ * @param highlightDuration How long a highlight stays visible.
+ * @param waitTimeout Upper bound for element and page waits.
+ * @param domQuietPeriod How long the DOM must stay unchanged to count as settled.
+ * @param scrollStep Pixels per step when scrolling to find lazily rendered elements.
+ * @param retryQuietPeriod DOM quiet period awaited between click strategies.
+ * @param retryTimeout Upper bound for that wait.
+ * @param navigationReadiness Default {@link com.insider.helper.Readiness} spec of a navigation.
+ * @param navigationDomQuietCap Upper bound for the DOM quiet condition of a navigation.
+ * @param browserProfile {@code full} or {@code lean}.
+ * @param headless Whether the lean browser runs headless.
+ * @param windowSize Window size of the lean browser, e.g. {@code 1920,1080}.
+ * @param parallelFactor Concurrent test classes per available core.
+ * @param parallelThreads Fixed number of concurrent test classes; 0 derives it from the factor.
+ * @param driverPoolSize Browser sessions kept in the pool; 0 uses the parallelism.
+ * @param tabPoolSize Tabs a session opens at once to check the pages behind a list of links.
+ */
+public record RunConfig(String profile, String baseUrl, boolean highlightElements, Duration highlightDuration,
+                        Duration waitTimeout, Duration domQuietPeriod, int scrollStep,
+                        Duration retryQuietPeriod, Duration retryTimeout, String navigationReadiness,
+                        Duration navigationDomQuietCap,
+                        String browserProfile, boolean headless, String windowSize,
+                        double parallelFactor, int parallelThreads, int driverPoolSize, int tabPoolSize) {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("baseUrl", "https://useinsider.com/"),
+            Map.entry("highlightElements", "false"),
+            Map.entry("highlight.durationMillis", "1000"),
+            Map.entry("wait.timeoutMillis", "10000"),
+            Map.entry("wait.domQuietMillis", "300"),
+            Map.entry("scroll.stepPixels", "300"),
+            Map.entry("click.retryQuietMillis", "100"),
+            Map.entry("click.retryTimeoutMillis", "500"),
+            Map.entry("navigation.readiness", "load,domquiet:300"),
+            Map.entry("navigation.domQuietCapMillis", "2000"),
+            Map.entry("browser.profile", "full"),
+            Map.entry("browser.headless", "true"),
+            Map.entry("browser.windowSize", "1920,1080"),
+            Map.entry("parallel.factor", "1.0"),
+            Map.entry("parallel.threads", "0"),
+            Map.entry("driverPool.size", "0"),
+            Map.entry("tabPool.size", "4"));
+
+    private static final class Holder {
+        private static final RunConfig INSTANCE = load(System.getenv(), System.getProperties());
+    }
+
+    public static RunConfig get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Resolves the configuration from the layers described on the class.
+     * @param environment Environment variables.
+     * @param systemProperties System properties.
+     * @return The resolved configuration.
+     */
+    public static RunConfig load(Map<String, String> environment, Properties systemProperties) {
+        Properties file = resource("config.properties");
+        if (file == null) {
+            throw new IllegalStateException("Cannot find config.properties in classpath");
+        }
+        String profile = resolve("run.profile", "default", file, new Properties(), environment, systemProperties);
+        Properties profileSettings = profile.equals("default")
+                ? new Properties()
+                : resource("profiles/" + profile + ".properties");
+        if (profileSettings == null) {
+            throw new IllegalArgumentException("Unknown run profile, missing profiles/" + profile + ".properties");
+        }
+
+        Layers layers = key -> resolve(key, DEFAULTS.get(key), file, profileSettings, environment, systemProperties);
+        RunConfig config = new RunConfig(
+                profile,
+                layers.get("baseUrl"),
+                Boolean.parseBoolean(layers.get("highlightElements")),
+                millis(layers, "highlight.durationMillis"),
+                millis(layers, "wait.timeoutMillis"),
+                millis(layers, "wait.domQuietMillis"),
+                integer(layers, "scroll.stepPixels"),
+                millis(layers, "click.retryQuietMillis"),
+                millis(layers, "click.retryTimeoutMillis"),
+                layers.get("navigation.readiness"),
+                millis(layers, "navigation.domQuietCapMillis"),
+                layers.get("browser.profile").toLowerCase(Locale.ROOT),
+                Boolean.parseBoolean(layers.get("browser.headless")),
+                layers.get("browser.windowSize"),
+                Double.parseDouble(layers.get("parallel.factor")),
+                integer(layers, "parallel.threads"),
+                integer(layers, "driverPool.size"),
+                integer(layers, "tabPool.size"));
+        EventLog.info("config.loaded", "Run profile '%s': %s", profile, config.summary());
+        return config;
+    }
+
+    /**
+     * @return Number of test classes run concurrently.
+     */
+    public int parallelism() {
+        if (parallelThreads > 0) {
+            return parallelThreads;
+        }
+        return Math.max(1, (int) Math.round(Runtime.getRuntime().availableProcessors() * parallelFactor));
+    }
+
+    /**
+     * @return Browser sessions kept in the pool.
+     */
+    public int effectiveDriverPoolSize() {
+        return driverPoolSize > 0 ? driverPoolSize : parallelism();
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "browser=%s%s, parallelism=%d, waitTimeout=%dms, highlight=%s, readiness=%s",
+                browserProfile, headless && browserProfile.equals("lean") ? " (headless)" : "", parallelism(),
+                waitTimeout.toMillis(), highlightElements, navigationReadiness);
+    }
+
+    private static String resolve(String key, String defaultValue, Properties file, Properties profile,
+                                  Map<String, String> environment, Properties systemProperties) {
+        String value = systemProperties.getProperty(key);
+        if (value == null) {
+            value = environment.get("INSIDER_" + key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        }
+        if (value == null) {
+            value = profile.getProperty(key);
+        }
+        if (value == null) {
+            value = file.getProperty(key);
+        }
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * @return The properties of the resource, or null if it is not on the classpath.
+     */
+    private static Properties resource(String name) {
+        Properties properties = new Properties();
+        try (InputStream input = RunConfig.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                return null;
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + name + " from classpath", e);
+        }
+        return properties;
+    }
+
+    private static Duration millis(Layers layers, String key) {
+        return Duration.ofMillis(Long.parseLong(layers.get(key)));
+    }
+
+    private static int integer(Layers layers, String key) {
+        return Integer.parseInt(layers.get(key));
+    }
+
+    @FunctionalInterface
+    private interface Layers {
+        String get(String key);
+    }
+}
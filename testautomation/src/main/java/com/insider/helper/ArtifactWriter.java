@@ -0,0 +1,262 @@
+package com.insider.helper;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Writes screenshots off the test thread. Callers hand over the PNG bytes returned by
+ * the driver and get the target path back at once; a small pool of background threads
+ * re-encodes, downscales and stores them. When the queue is full the submitting thread
+ * does the work itself, which slows producers down instead of growing memory. A frame
+ * identical to one of the last few hundred written is stored as a hard link to it, so
+ * every test still gets its own file without the space or encoding cost.
+ *
+ * <p>Configured with {@code artifacts.format} ({@code png} or {@code jpeg}),
+ * {@code artifacts.scale} (0-1], {@code artifacts.jpegQuality}, {@code artifacts.threads}
+ * and {@code artifacts.queueSize}. WebP is not offered because the JDK has no encoder.
+ */
+public final class ArtifactWriter {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final int REMEMBERED_FRAMES = 256;
+
+    private final Path directory;
+    private final String format;
+    private final double scale;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+    /** Recently written frames by content hash, least recently used dropped first. */
+    private final Map<String, Stored> written = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+            return size() > REMEMBERED_FRAMES;
+        }
+    });
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final Object idle = new Object();
+    private volatile boolean directoryReady;
+
+    private static final class Holder {
+        private static final ArtifactWriter INSTANCE = new ArtifactWriter(
+                Paths.get("test-output", "screenshots"),
+                System.getProperty("artifacts.format", "png"),
+                Double.parseDouble(System.getProperty("artifacts.scale", "1.0")),
+                Float.parseFloat(System.getProperty("artifacts.jpegQuality", "0.8")),
+                Integer.getInteger("artifacts.threads", 2),
+                Integer.getInteger("artifacts.queueSize", 16));
+    }
+
+    public static ArtifactWriter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param directory Where artifacts are written; created on first use.
+     * @param format {@code png} or {@code jpeg}.
+     * @param scale Factor applied to width and height, 1 keeps the original size.
+     * @param jpegQuality Compression quality for JPEG, between 0 and 1.
+     * @param threads Number of background writers.
+     * @param queueSize Screenshots that may wait for a writer before callers write them inline.
+     */
+    public ArtifactWriter(Path directory, String format, double scale, float jpegQuality, int threads, int queueSize) {
+        String normalized = format.toLowerCase(Locale.ROOT);
+        if (!normalized.equals("png") && !normalized.equals("jpeg")) {
+            throw new IllegalArgumentException("Unsupported artifact format: " + format);
+        }
+        if (scale <= 0 || scale > 1) {
+            throw new IllegalArgumentException("Artifact scale must be in (0, 1]: " + scale);
+        }
+        this.directory = directory;
+        this.format = normalized;
+        this.scale = scale;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), task -> {
+                    Thread thread = new Thread(task, "artifact-writer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(30)), "artifact-writer-flush"));
+    }
+
+    /**
+     * Queues a screenshot for writing.
+     * @param name Name used in the file name, e.g. the test name.
+     * @param png The screenshot as returned by the driver.
+     * @return The path the screenshot will be written to.
+     */
+    public Path submitScreenshot(String name, byte[] png) {
+        String hash = sha256(png);
+        String fileName = String.format("screenshot_%s_%s.%s", name, LocalDateTime.now().format(TIMESTAMP),
+                format.equals("jpeg") ? "jpg" : "png");
+        Path target = directory.resolve(fileName);
+        Stored stored = new Stored(target, new CompletableFuture<>());
+        Stored previous = written.putIfAbsent(hash, stored);
+        pending.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                // The earlier frame's task was dequeued or run inline before this one, so the wait ends.
+                if (previous != null && previous.done().join() && link(target, previous.path())) {
+                    duplicates.incrementAndGet();
+                    EventLog.info("screenshot.duplicate", "Screenshot identical to %s, linked as %s",
+                            previous.path().toString(), target.toString());
+                } else {
+                    write(target, encode(png));
+                    EventLog.info("screenshot.saved", "Screenshot saved: %s", target.toString());
+                }
+                stored.done().complete(true);
+            } catch (IOException | RuntimeException e) {
+                written.remove(hash, stored);
+                EventLog.error("screenshot.failed", "Failed to write screenshot %s: %s", target.toString(), e.getMessage());
+            } finally {
+                stored.done().complete(false);
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (idle) {
+                        idle.notifyAll();
+                    }
+                }
+            }
+        });
+        return target;
+    }
+
+    /**
+     * Blocks until every queued artifact has been written.
+     * @param timeout Upper bound for the wait.
+     * @return False if artifacts were still pending when the timeout expired.
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    idle.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    public long duplicateCount() {
+        return duplicates.get();
+    }
+
+    private byte[] encode(byte[] png) throws IOException {
+        if (format.equals("png") && scale == 1) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        // JPEG has no alpha channel, so both paths draw onto an RGB canvas.
+        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = output.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (format.equals("png")) {
+            ImageIO.write(output, "png", bytes);
+            return bytes.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(output, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void write(Path target, byte[] content) throws IOException {
+        if (!directoryReady) {
+            Files.createDirectories(directory);
+            directoryReady = true;
+        }
+        Path temp = Files.createTempFile(directory, ".screenshot", ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return False if the file system has no hard links or the earlier file is gone; the
+     *         caller then writes the frame itself.
+     */
+    private static boolean link(Path target, Path existing) {
+        try {
+            Files.createLink(target, existing);
+            return true;
+        } catch (UnsupportedOperationException | IOException e) {
+            return false;
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param path Where the frame is written.
+     * @param done Completes with whether the write succeeded.
+     */
+    private record Stored(Path path, CompletableFuture<Boolean> done) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.insider.helper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Remembers per locator which {@link ClickStrategy} worked and how long it took, so the
+ * likely winner is tried first. Statistics are kept across runs in
+ * {@code test-output/.cache/click-stats.json} ({@code -DclickStats.file}) and are
+ * dropped for a locator once its definition changes.
+ */
+public final class ClickStatistics {
+    private final Path file;
+    private final Map<String, LocatorStats> stats = new ConcurrentHashMap<>();
+
+    private static final class Holder {
+        private static final ClickStatistics INSTANCE = new ClickStatistics(
+                Paths.get(System.getProperty("clickStats.file", "test-output/.cache/click-stats.json")));
+    }
+
+    public static ClickStatistics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads earlier statistics from the file, if any, and saves them back at shutdown.
+     * @param file Where the statistics are kept.
+     */
+    public ClickStatistics(Path file) {
+        this.file = file;
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "click-stats-save"));
+    }
+
+    /**
+     * Orders the strategies by smoothed success rate, then by average latency. Strategies
+     * without history keep their default position relative to each other.
+     * @param locator The locator about to be clicked.
+     * @return All strategies, most promising first.
+     */
+    public List<ClickStrategy> order(Locator locator) {
+        List<ClickStrategy> order = new ArrayList<>(Arrays.asList(ClickStrategy.values()));
+        LocatorStats current = current(locator, false);
+        if (current == null) {
+            return order;
+        }
+        synchronized (current) {
+            order.sort(Comparator.comparingDouble((ClickStrategy strategy) -> -current.get(strategy).score())
+                    .thenComparingDouble(strategy -> current.get(strategy).averageNanos()));
+        }
+        return order;
+    }
+
+    /**
+     * Records the outcome of one click attempt.
+     * @param locator The clicked locator.
+     * @param strategy The strategy used.
+     * @param succeeded Whether the click went through.
+     * @param nanos How long the attempt took.
+     */
+    public void record(Locator locator, ClickStrategy strategy, boolean succeeded, long nanos) {
+        LocatorStats current = current(locator, true);
+        synchronized (current) {
+            Counts counts = current.get(strategy);
+            if (succeeded) {
+                counts.successes++;
+                counts.successNanos += nanos;
+            } else {
+                counts.failures++;
+            }
+        }
+    }
+
+    private LocatorStats current(Locator locator, boolean create) {
+        String definition = definitionHash(locator);
+        LocatorStats existing = stats.get(locator.name());
+        if (existing != null && existing.definition.equals(definition)) {
+            return existing;
+        }
+        if (!create) {
+            return null;
+        }
+        return stats.compute(locator.name(), (name, previous) ->
+                previous != null && previous.definition.equals(definition) ? previous : new LocatorStats(definition));
+    }
+
+    private static String definitionHash(Locator locator) {
+        return Integer.toHexString((locator.type() + ":" + locator.value()).hashCode());
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+            for (String name : json.keySet()) {
+                JSONObject entry = json.getJSONObject(name);
+                LocatorStats loaded = new LocatorStats(entry.getString("definition"));
+                JSONObject strategies = entry.getJSONObject("strategies");
+                for (ClickStrategy strategy : ClickStrategy.values()) {
+                    JSONObject counts = strategies.optJSONObject(strategy.name());
+                    if (counts != null) {
+                        Counts target = loaded.get(strategy);
+                        target.successes = counts.optLong("successes");
+                        target.failures = counts.optLong("failures");
+                        target.successNanos = counts.optLong("successNanos");
+                    }
+                }
+                stats.put(name, loaded);
+            }
+        } catch (IOException | JSONException e) {
+            EventLog.warn("clickStats.unreadable", "Ignoring unreadable click statistics %s: %s", file, e.getMessage());
+        }
+    }
+
+    private void save() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        JSONObject json = new JSONObject();
+        stats.forEach((name, entry) -> {
+            JSONObject strategies = new JSONObject();
+            synchronized (entry) {
+                entry.counts.forEach((strategy, counts) -> strategies.put(strategy.name(), new JSONObject()
+                        .put("successes", counts.successes)
+                        .put("failures", counts.failures)
+                        .put("successNanos", counts.successNanos)));
+            }
+            json.put(name, new JSONObject().put("definition", entry.definition).put("strategies", strategies));
+        });
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "click-stats", ".tmp");
+            Files.writeString(temp, json.toString(2), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            EventLog.error("clickStats.saveFailed", "Failed to save click statistics %s: %s", file, e.getMessage());
+        }
+    }
+
+    private static final class LocatorStats {
+        private final String definition;
+        private final Map<ClickStrategy, Counts> counts = new EnumMap<>(ClickStrategy.class);
+
+        private LocatorStats(String definition) {
+            this.definition = definition;
+        }
+
+        private Counts get(ClickStrategy strategy) {
+            return counts.computeIfAbsent(strategy, key -> new Counts());
+        }
+    }
+
+    private static final class Counts {
+        private long successes;
+        private long failures;
+        private long successNanos;
+
+        /**
+         * Success rate with one virtual success and failure, so an untried strategy
+         * scores 0.5 and a single result does not decide the order for good.
+         */
+        private double score() {
+            return (successes + 1.0) / (successes + failures + 2.0);
+        }
+
+        private double averageNanos() {
+            return successes == 0 ? Double.MAX_VALUE : (double) successNanos / successes;
+        }
+    }
+}
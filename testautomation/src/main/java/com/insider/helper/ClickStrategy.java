@@ -0,0 +1,33 @@
+package com.insider.helper;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+/**
+ * The ways {@link ElementHelper} can click an element, in the order tried when nothing
+ * is known about the element yet.
+ */
+public enum ClickStrategy {
+    NORMAL {
+        @Override
+        void click(WebDriver driver, WebElement element) {
+            element.click();
+        }
+    },
+    ACTIONS {
+        @Override
+        void click(WebDriver driver, WebElement element) {
+            new Actions(driver).moveToElement(element).click().perform();
+        }
+    },
+    JAVASCRIPT {
+        @Override
+        void click(WebDriver driver, WebElement element) {
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+        }
+    };
+
+    abstract void click(WebDriver driver, WebElement element);
+}
@@ -0,0 +1,142 @@
+package com.insider.helper;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Element handles a session resolved on its current page, keyed by locator name, so
+ * repeated actions on the same element need no lookup. Everything is dropped on
+ * {@link ElementHelper#navigateTo}, when {@link WindowContexts} switches tabs and when the
+ * main frame navigates (DevTools {@code Page.frameNavigated}). That event only arrives
+ * for the tab the DevTools connection is attached to; on other tabs, and for any other
+ * change in between, a handle whose document went away is stale, so the caller drops it
+ * and resolves the element again. {@code -DelementCache.enabled=false} turns caching off.
+ */
+public final class ElementCache {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("elementCache.enabled", "true"));
+    private static final Map<WebDriver, ElementCache> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, WebElement> elements = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    /** Bumped on every full invalidation, so a lookup that raced with one is not stored. */
+    private long generation;
+
+    private ElementCache() {
+    }
+
+    /**
+     * @param driver The session.
+     * @return The element cache of the session, created on first use.
+     */
+    public static ElementCache of(WebDriver driver) {
+        synchronized (caches) {
+            ElementCache cache = caches.get(driver);
+            if (cache == null) {
+                cache = new ElementCache();
+                if (ENABLED) {
+                    cache.subscribe(driver);
+                }
+                caches.put(driver, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * @param name The locator name.
+     * @return The cached handle, or null if there is none for the current page.
+     */
+    public synchronized WebElement get(String name) {
+        WebElement element = elements.get(name);
+        (element != null ? hits : misses).incrementAndGet();
+        return element;
+    }
+
+    /**
+     * @return Token to pass to {@link #put} for an element resolved from now on.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches a resolved handle unless the page changed since {@code generation} was taken.
+     * @param name The locator name.
+     * @param generation The {@link #generation()} taken before resolving the element.
+     * @param element The resolved element.
+     */
+    public synchronized void put(String name, long generation, WebElement element) {
+        if (ENABLED && element != null && generation == this.generation) {
+            elements.put(name, element);
+        }
+    }
+
+    /**
+     * Drops the handle of one element, e.g. after it went stale.
+     */
+    public synchronized void invalidate(String name) {
+        if (elements.remove(name) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops every handle, for a new page or another tab.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!elements.isEmpty()) {
+            invalidations.addAndGet(elements.size());
+            elements.clear();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long invalidations() {
+        return invalidations.get();
+    }
+
+    private void subscribe(WebDriver driver) {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<>("Page.enable", Map.of()));
+            Event<Map<String, Object>> event = new Event<>("Page.frameNavigated", input -> input.read(Json.MAP_TYPE));
+            devTools.addListener(event, params -> {
+                Object frame = params.get("frame");
+                if (frame instanceof Map<?, ?> navigated && navigated.get("parentId") == null) {
+                    invalidateAll();
+                }
+            });
+        } catch (RuntimeException e) {
+            EventLog.warn("elementCache.unavailable",
+                    "Navigation events unavailable, element handles are only dropped when stale: %s",
+                    e.getMessage());
+        }
+    }
+}
@@ -1,97 +1,146 @@
 package com.insider.helper;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.time.Duration;
-import java.util.Properties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.insider.config.RunConfig;
+import com.insider.logging.EventLog;
+import com.insider.metrics.ActionMetrics;
+import com.insider.metrics.ActionScope;
+import com.insider.metrics.FlightRecorder;
 
 /**
  * Helper class for interacting with web elements.
  * Author: Merve Aslantürkiyeli Demir
  */
 public class ElementHelper {
+    private static final AtomicLong STREAM_IDS = new AtomicLong();
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
-    private final JsonReader jsonReader;
+    private final LocatorRegistry locatorRegistry;
     private final JavascriptExecutor js;
-    private final boolean highlightEnabled;
+    private final ElementLocator elementLocator;
+    private final WaitEngine waitEngine;
+    private final ElementHighlighter highlighter;
+    private final ClickStatistics clickStatistics;
+    private final WindowContexts windows;
+    private final ElementCache elementCache;
+    private final RunConfig config;
 
     public ElementHelper(WebDriver driver) {
         this.driver = driver;
-        this.jsonReader = new JsonReader();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.config = RunConfig.get();
+        this.locatorRegistry = LocatorRegistry.getInstance();
         this.js = (JavascriptExecutor) driver;
-        
-        String highlightSetting = System.getProperty("highlightElements");
-        if (highlightSetting == null) {
-            try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
-                Properties props = new Properties();
-                props.load(input);
-                highlightSetting = props.getProperty("highlightElements", "false");
-            } catch (IOException e) {
-                highlightSetting = "false";
-            }
-        }
-        this.highlightEnabled = Boolean.parseBoolean(highlightSetting);
+        this.elementLocator = new ElementLocator(driver);
+        this.waitEngine = new WaitEngine(driver);
+        this.clickStatistics = ClickStatistics.getInstance();
+        this.windows = WindowContexts.of(driver);
+        this.elementCache = ElementCache.of(driver);
+        this.highlighter = new ElementHighlighter(driver, config.highlightElements(),
+                config.highlightDuration().toMillis());
     }
 
     /**
-     * Retrieves the locator for a given element name.
+     * Retrieves the locator definition for a given element name.
      * @param elementName The name of the element.
-     * @return The By locator for the element.
+     * @return The locator definition for the element.
      */
-    private By getLocator(String elementName) {
+    private Locator getLocator(String elementName) {
         try {
-            String locatorType = jsonReader.getLocatorType(elementName);
-            String locatorValue = jsonReader.getLocatorValue(elementName);
-            
-            return switch (locatorType.toLowerCase()) {
-                case "xpath" -> By.xpath(locatorValue);
-                case "css" -> By.cssSelector(locatorValue);
-                case "id" -> By.id(locatorValue);
-                case "name" -> By.name(locatorValue);
-                default -> throw new IllegalArgumentException("Unsupported locator type: " + locatorType);
-            };
-        } catch (NullPointerException | IllegalArgumentException e) {
+            return locatorRegistry.get(elementName);
+        } catch (IllegalArgumentException e) {
             throw new RuntimeException("Failed to get locator for element: " + elementName, e);
         }
     }
 
     /**
-     * Highlights a web element by changing its style temporarily.
+     * Highlights a web element with a fading outline without blocking the test thread.
      * @param element The web element to highlight.
      */
     private void highlightElement(WebElement element) {
-        if (!highlightEnabled) {
-            return;
+        highlighter.highlight(element);
+    }
+
+    /**
+     * Finds the element in a single in-page lookup, scrolling it into view at most once,
+     * and highlights it. Falls back to stepwise scrolling only when the element is not
+     * rendered yet, e.g. lazy-loaded content further down the page. An element that is
+     * found but still hidden is returned as is; the interactability wait covers it.
+     * @param locator The locator of the element.
+     * @return The element, or null if it could not be found.
+     */
+    private WebElement scrollAndFindElement(Locator locator) {
+        ElementLocator.Result result = elementLocator.locate(locator);
+        if (!result.found()) {
+            return scrollStepwiseAndFindElement(locator.by());
         }
-        
-        String originalStyle = element.getAttribute("style");
-        js.executeScript(
-                "arguments[0].setAttribute('style', 'border: 2px solid red; background: yellow');",
-                element);
-        waitForSeconds(1);
-        js.executeScript(
-            "arguments[0].setAttribute('style', '" + originalStyle + "');",
-            element);
+        highlightElement(result.element());
+        return result.element();
+    }
+
+    /**
+     * Like {@link #scrollAndFindElement(Locator)}, but also scrolls stepwise when the
+     * element is found but not displayed, for callers that do not wait afterwards.
+     * @param locator The locator of the element.
+     * @return The displayed element, or null if it could not be found.
+     */
+    private WebElement scrollAndFindDisplayedElement(Locator locator) {
+        ElementLocator.Result result = elementLocator.locate(locator);
+        if (result.found() && result.visible()) {
+            highlightElement(result.element());
+            return result.element();
+        }
+        return scrollStepwiseAndFindElement(locator.by());
     }
 
     /**
-     * Scrolls the page to find the element and highlights it.
+     * Returns the displayed element, reusing a cached handle while it is still displayed
+     * and finding it by scrolling otherwise.
      * @param locator The locator of the element.
-     * @return True if the element is found and displayed, false otherwise.
+     * @return The displayed element, or null if it could not be found.
      */
-    private boolean scrollAndFindElement(By locator) {
+    private WebElement visibleElement(Locator locator) {
+        WebElement cached = elementCache.get(locator.name());
+        if (cached != null) {
+            try {
+                if (cached.isDisplayed()) {
+                    highlightElement(cached);
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                elementCache.invalidate(locator.name());
+            }
+        }
+        long generation = elementCache.generation();
+        WebElement element = scrollAndFindDisplayedElement(locator);
+        elementCache.put(locator.name(), generation, element);
+        return element;
+    }
+
+    /**
+     * Scrolls the page step by step until the element is displayed. Only used as a
+     * fallback for content that is rendered while scrolling.
+     * @param locator The locator of the element.
+     * @return The displayed element, or null if it could not be found.
+     */
+    private WebElement scrollStepwiseAndFindElement(By locator) {
         long totalHeight = (Long) js.executeScript("return document.documentElement.scrollHeight");
-        int scrollStep = 300;
+        int scrollStep = config.scrollStep();
         long currentPosition = 0;
 
         while (currentPosition < totalHeight) {
@@ -99,107 +148,134 @@ public class ElementHelper {
                 WebElement element = driver.findElement(locator);
                 if (element.isDisplayed()) {
                     js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
-                    waitForSeconds(1);
+                    waitEngine.waitForScrollEnd();
                     highlightElement(element);
-                    return true;
+                    return element;
                 }
             } catch (Exception ignored) {
-                js.executeScript("window.scrollTo({top: " + (currentPosition + scrollStep) + 
-                               ", behavior: 'smooth'});");
-                currentPosition += scrollStep;
-                waitForMilliseconds(300);
             }
+            js.executeScript("window.scrollTo({top: " + (currentPosition + scrollStep) +
+                           ", behavior: 'smooth'});");
+            currentPosition += scrollStep;
+            waitEngine.waitForScrollEnd();
 
             if (currentPosition >= totalHeight) {
                 js.executeScript("window.scrollTo({top: 0, behavior: 'smooth'});");
-                waitForSeconds(1);
+                waitEngine.waitForScrollEnd();
                 break;
             }
         }
-        return false;
+        return null;
     }
 
     /**
-     * Waits for a specified number of milliseconds.
-     * @param milliseconds The number of milliseconds to wait.
+     * Waits until the element is visible, enabled, not moving and, depending on the overlap
+     * mode, uncovered, checked together in a single in-page wait
+     * @param locator The locator of the element
+     * @param element An already resolved element to check, or null to resolve the locator
+     * @param overlap How an element covered by another one is treated
+     * @return The WebElement that is ready to be clicked
      */
-    private void waitForMilliseconds(int milliseconds) {
-        try {
-            Thread.sleep(milliseconds);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Sleep interrupted", e);
+    private WebElement waitForElementToBeInteractable(Locator locator, WebElement element,
+                                                      WaitEngine.Overlap overlap) {
+        WaitEngine.Interactability interactability =
+            waitEngine.waitForInteractable(locator, element, waitEngine.getDefaultTimeout(), overlap);
+        if (interactability.stale()) {
+            throw new StaleElementReferenceException("Element '" + locator.name() + "' is no longer in the document");
         }
+        if (!interactability.ready()) {
+            throw new TimeoutException(String.format("Element '%s' not interactable after %dms: %s",
+                locator.name(), interactability.result().elapsed().toMillis(), interactability));
+        }
+        if (interactability.covered()) {
+            EventLog.debug("interactable.covered", "'%s' is %s, leaving it to the click strategies",
+                locator.name(), interactability.toString());
+        }
+        return interactability.element();
     }
 
     /**
-     * Waits until the element is visible and clickable
+     * Returns the element once it can be interacted with. A handle cached by an earlier
+     * action on the same page is checked directly, without a lookup or scrolling search;
+     * otherwise the element is found, awaited and cached.
      * @param locator The locator of the element
-     * @return The WebElement that is visible and clickable
+     * @param overlap How an element covered by another one is treated
+     * @return The WebElement that is ready to be clicked
      */
-    private WebElement waitForElementToBeInteractable(By locator) {
-        wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-        WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+    private WebElement interactableElement(Locator locator, WaitEngine.Overlap overlap) {
+        WebElement cached = elementCache.get(locator.name());
+        if (cached != null) {
+            try {
+                return waitForElementToBeInteractable(locator, cached, overlap);
+            } catch (StaleElementReferenceException e) {
+                elementCache.invalidate(locator.name());
+                EventLog.debug("elementCache.stale", "Cached handle of '%s' is stale, resolving it again", locator.name());
+            }
+        }
+        long generation = elementCache.generation();
+        WebElement found = scrollAndFindElement(locator);
+        if (found == null) {
+            throw new RuntimeException("Element not found after scrolling: " + locator.name());
+        }
+        WebElement element = waitForElementToBeInteractable(locator, found, overlap);
+        elementCache.put(locator.name(), generation, element);
         return element;
     }
 
     /**
-     * Waits for element animations to complete and ensures element is truly clickable
-     * @param element The web element to wait for
+     * Runs an action on the interactable element. If the element goes stale during the
+     * action, e.g. because the page re-rendered it, its handle is dropped and the action
+     * runs once more on a freshly resolved element.
+     * @param locator The locator of the element
+     * @param overlap How an element covered by another one is treated
+     * @param action What to do with the element
      */
-    private void waitForAnimationToComplete(WebElement element) {
-        int attempts = 0;
-        int maxAttempts = 5;
-        int animationCheckInterval = 200;
-
-        while (attempts < maxAttempts) {
-            try {
-                String beforeState = element.getAttribute("class") + 
-                                   element.getCssValue("transform") + 
-                                   element.getCssValue("opacity");
-                waitForMilliseconds(animationCheckInterval);
-                String afterState = element.getAttribute("class") + 
-                                  element.getCssValue("transform") + 
-                                  element.getCssValue("opacity");
-                
-                if (beforeState.equals(afterState)) {
-                    return;
-                }
-            } catch (Exception ignored) {}
-            attempts++;
+    private void withInteractableElement(Locator locator, WaitEngine.Overlap overlap, Consumer<WebElement> action) {
+        try {
+            action.accept(interactableElement(locator, overlap));
+        } catch (StaleElementReferenceException e) {
+            elementCache.invalidate(locator.name());
+            EventLog.debug("elementCache.stale", "'%s' went stale during the action, resolving it again", locator.name());
+            action.accept(interactableElement(locator, overlap));
         }
     }
 
     /**
-     * Retries clicking on an element with multiple strategies
+     * Clicks an element, trying the strategy that worked best for this locator first and
+     * falling back to the others.
      * @param element The web element to click
-     * @param elementName Name of the element for logging
+     * @param locator The locator of the element, used for logging and click statistics
      */
-    private void retryClick(WebElement element, String elementName) {
+    private void retryClick(WebElement element, Locator locator) {
         Exception lastException = null;
-        String[] clickStrategies = {"normal", "actions", "javascript"};
 
-        for (String strategy : clickStrategies) {
+        for (ClickStrategy strategy : clickStatistics.order(locator)) {
+            FlightRecorder.ClickEvent event = FlightRecorder.beginClick();
+            long start = System.nanoTime();
             try {
-                waitForAnimationToComplete(element);
-                
-                switch (strategy) {
-                    case "normal" -> element.click();
-                    case "actions" -> new Actions(driver).moveToElement(element).click().perform();
-                    case "javascript" -> js.executeScript("arguments[0].click();", element);
-                }
-                
-                System.out.printf("✓ Successfully clicked '%s' using %s click%n", elementName, strategy);
+                strategy.click(driver, element);
+                long elapsed = System.nanoTime() - start;
+                clickStatistics.record(locator, strategy, true, elapsed);
+                FlightRecorder.endClick(event, locator.name(), strategy.name(), true, elapsed);
+                EventLog.info("click.succeeded", "Successfully clicked '%s' using %s click", locator.name(), strategy.name().toLowerCase(Locale.ROOT));
                 return;
+            } catch (StaleElementReferenceException e) {
+                // Another strategy would fail on the same handle; let the caller resolve it again.
+                long elapsed = System.nanoTime() - start;
+                FlightRecorder.endClick(event, locator.name(), strategy.name(), false, elapsed);
+                throw e;
             } catch (Exception e) {
+                long elapsed = System.nanoTime() - start;
+                clickStatistics.record(locator, strategy, false, elapsed);
+                FlightRecorder.endClick(event, locator.name(), strategy.name(), false, elapsed);
                 lastException = e;
-                System.out.printf("⚠️ %s click failed for '%s', trying next strategy%n", strategy, elementName);
-                waitForMilliseconds(500);
+                ActionMetrics.recordRetry();
+                EventLog.warn("click.retry", "%s click failed for '%s', trying next strategy", strategy.name().toLowerCase(Locale.ROOT), locator.name());
+                waitEngine.waitForDomQuiescence(config.retryQuietPeriod(), config.retryTimeout());
             }
         }
         
-        throw new RuntimeException("Failed to click element after trying all strategies: " + elementName, lastException);
+        throw new RuntimeException("Failed to click element after trying all strategies: " + locator.name(), lastException);
     }
 
     /**
@@ -208,22 +284,23 @@ public class ElementHelper {
      */
     @SuppressWarnings("UseSpecificCatch")
     public void click(String elementName) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                throw new RuntimeException("Element not found after scrolling: " + elementName);
-            }
-            WebElement element = waitForElementToBeInteractable(locator);
-            highlightElement(element);
-            retryClick(element, elementName);
+        try (ActionScope action = ActionMetrics.start("click", elementName)) {
+            Locator locator = getLocator(elementName);
+            try {
+                withInteractableElement(locator, WaitEngine.Overlap.FALLBACK, element -> {
+                    highlightElement(element);
+                    retryClick(element, locator);
+                });
             
-            if (driver.getWindowHandles().size() > 1) {
-                switchToNewTab();
+                if (windows.hasOpened()) {
+                    switchToNewTab();
+                }
+                action.succeeded();
+            } catch (Exception e) {
+                String error = String.format("Failed to click element '%s': %s", elementName, e.getMessage());
+                EventLog.error("click.failed", "%s", error);
+                throw new RuntimeException(error, e);
             }
-        } catch (Exception e) {
-            String error = String.format("✗ Failed to click element '%s': %s", elementName, e.getMessage());
-            System.err.println(error);
-            throw new RuntimeException(error, e);
         }
     }
 
@@ -232,11 +309,14 @@ public class ElementHelper {
      * @param seconds The number of seconds to wait.
      */
     public void waitForSeconds(int seconds) {
+        long start = System.nanoTime();
         try {
             Thread.sleep(seconds * 1000L);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Sleep interrupted", e);
+        } finally {
+            ActionMetrics.recordSleep(System.nanoTime() - start);
         }
     }
 
@@ -246,19 +326,20 @@ public class ElementHelper {
      */
     @SuppressWarnings("UseSpecificCatch")
     public void clickUsingJS(String elementName) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                throw new RuntimeException("Element not found after scrolling: " + elementName);
+        try (ActionScope action = ActionMetrics.start("clickUsingJS", elementName)) {
+            Locator locator = getLocator(elementName);
+            try {
+                withInteractableElement(locator, WaitEngine.Overlap.IGNORE, element -> {
+                    highlightElement(element);
+                    js.executeScript("arguments[0].click();", element);
+                });
+                EventLog.info("clickUsingJS.succeeded", "Element '%s' clicked using JavaScript successfully", elementName);
+                action.succeeded();
+            } catch (Exception e) {
+                String error = String.format("Failed to click element '%s' using JavaScript: %s", elementName, e.getMessage());
+                EventLog.error("clickUsingJS.failed", "%s", error);
+                throw new RuntimeException(error, e);
             }
-            WebElement element = waitForElementToBeInteractable(locator);
-            highlightElement(element);
-            js.executeScript("arguments[0].click();", element);
-            System.out.printf("✓ Element '%s' clicked using JavaScript successfully%n", elementName);
-        } catch (Exception e) {
-            String error = String.format("✗ Failed to click element '%s' using JavaScript: %s", elementName, e.getMessage());
-            System.err.println(error);
-            throw new RuntimeException(error, e);
         }
     }
 
@@ -268,19 +349,20 @@ public class ElementHelper {
      */
     @SuppressWarnings("UseSpecificCatch")
     public void moveToElementAndClick(String elementName) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                throw new RuntimeException("Element not found after scrolling: " + elementName);
+        try (ActionScope action = ActionMetrics.start("moveToElementAndClick", elementName)) {
+            Locator locator = getLocator(elementName);
+            try {
+                withInteractableElement(locator, WaitEngine.Overlap.WAIT, element -> {
+                    highlightElement(element);
+                    moveToElementAndClick(element);
+                });
+                EventLog.info("moveToElementAndClick.succeeded", "Element '%s' moved to and clicked successfully", elementName);
+                action.succeeded();
+            } catch (Exception e) {
+                String error = String.format("An unexpected error occurred while moving to and clicking element '%s': %s", elementName, e.getMessage());
+                EventLog.error("moveToElementAndClick.failed", "%s", error);
+                throw new RuntimeException(error, e);
             }
-            WebElement element = waitForElementToBeInteractable(locator);
-            highlightElement(element);
-            moveToElementAndClick(element);
-            System.out.printf("✓ Element '%s' moved to and clicked successfully%n", elementName);
-        } catch (Exception e) {
-            String error = String.format("✗ An unexpected error occurred while moving to and clicking element '%s': %s", elementName, e.getMessage());
-            System.err.println(error);
-            throw new RuntimeException(error, e);
         }
     }
 
@@ -290,20 +372,21 @@ public class ElementHelper {
      */
     @SuppressWarnings("UseSpecificCatch")
     public void moveToElementAndClickWithJs(String elementName) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                throw new RuntimeException("Element not found after scrolling: " + elementName);
+        try (ActionScope action = ActionMetrics.start("moveToElementAndClickWithJs", elementName)) {
+            Locator locator = getLocator(elementName);
+            try {
+                withInteractableElement(locator, WaitEngine.Overlap.FALLBACK, element -> {
+                    highlightElement(element);
+                    js.executeScript("arguments[0].scrollIntoView(true);", element);
+                    waitEngine.waitForScrollEnd();
+                    retryClick(element, locator);
+                });
+                action.succeeded();
+            } catch (Exception e) {
+                String error = String.format("An unexpected error occurred while moving to and clicking element '%s' using JavaScript: %s", elementName, e.getMessage());
+                EventLog.error("moveToElementAndClickWithJs.failed", "%s", error);
+                throw new RuntimeException(error, e);
             }
-            WebElement element = waitForElementToBeInteractable(locator);
-            highlightElement(element);
-            js.executeScript("arguments[0].scrollIntoView(true);", element);
-            waitForSeconds(1);
-            retryClick(element, elementName);
-        } catch (Exception e) {
-            String error = String.format("✗ An unexpected error occurred while moving to and clicking element '%s' using JavaScript: %s", elementName, e.getMessage());
-            System.err.println(error);
-            throw new RuntimeException(error, e);
         }
     }
 
@@ -314,33 +397,41 @@ public class ElementHelper {
     private void moveToElementAndClick(WebElement element) {
         try {
             Actions actions = new Actions(driver);
-            wait.until(ExpectedConditions.elementToBeClickable(element));
             
             js.executeScript("arguments[0].scrollIntoView(true);", element);
-            waitForSeconds(1);
+            waitEngine.waitForScrollEnd();
             
             actions.moveToElement(element).perform();
-            waitForSeconds(1);
+            waitEngine.waitForElementStable(element);
             
             actions.click(element).perform();
+        } catch (StaleElementReferenceException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to hover and click element: " + e.getMessage());
         }
     }
 
     /**
-     * Accepts cookies if the cookie banner is present.
+     * Accepts cookies if the cookie banner is present. Looks the banner up without
+     * waiting, so a page without it costs a single lookup.
+     * @return True if a banner was found and accepted.
      */
-    public void acceptCookiesIfPresent() {
-        try {
-            By cookieLocator = getLocator("acceptCookies");
-            WebElement cookieButton = driver.findElement(cookieLocator);
-            if (cookieButton.isDisplayed()) {
-                cookieButton.click();
-                System.out.println("✓ Cookies accepted");
+    public boolean acceptCookiesIfPresent() {
+        try (ActionScope action = ActionMetrics.start("acceptCookiesIfPresent", "acceptCookies")) {
+            try {
+                List<WebElement> cookieButtons = driver.findElements(getLocator("acceptCookies").by());
+                action.succeeded();
+                if (cookieButtons.isEmpty() || !cookieButtons.get(0).isDisplayed()) {
+                    return false;
+                }
+                cookieButtons.get(0).click();
+                EventLog.info("acceptCookies.succeeded", "Cookies accepted");
+                return true;
+            } catch (Exception e) {
+                EventLog.error("acceptCookies.failed", "Failed to accept cookies: %s", e.getMessage());
+                return false;
             }
-        } catch (Exception e) {
-            System.out.println("No cookie banner found or already accepted");
         }
     }
 
@@ -348,9 +439,12 @@ public class ElementHelper {
      * Scrolls the page to the top.
      */
     public void scrollToTop() {
-        js.executeScript("window.scrollTo({top: 0, behavior: 'smooth'});");
-        waitForSeconds(1);
-        System.out.println("✓ Scrolled to the top of the page");
+        try (ActionScope action = ActionMetrics.start("scrollToTop", null)) {
+            js.executeScript("window.scrollTo({top: 0, behavior: 'smooth'});");
+            waitEngine.waitForScrollEnd();
+            EventLog.info("scrollToTop.succeeded", "Scrolled to the top of the page");
+            action.succeeded();
+        }
     }
 
     /**
@@ -360,21 +454,21 @@ public class ElementHelper {
      */
     @SuppressWarnings("UseSpecificCatch")
     public boolean isElementVisible(String elementName) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                String error = String.format("Element '%s' could not be found on the page", elementName);
-                System.err.println("✗ " + error);
+        try (ActionScope action = ActionMetrics.start("isElementVisible", elementName)) {
+            Locator locator = getLocator(elementName);
+            try {
+                if (visibleElement(locator) == null) {
+                    String error = String.format("Element '%s' could not be found on the page", elementName);
+                    EventLog.error("isElementVisible.notFound", "%s", error);
+                    throw new AssertionError(error);
+                }
+                EventLog.info("isElementVisible.succeeded", "Element '%s' is visible", elementName);
+                return action.result(true);
+            } catch (Exception e) {
+                String error = String.format("Element '%s' is not visible: %s", elementName, e.getMessage());
+                EventLog.error("isElementVisible.failed", "%s", error);
                 throw new AssertionError(error);
             }
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            highlightElement(element);
-            System.out.printf("✓ Element '%s' is visible%n", elementName);
-            return true;
-        } catch (Exception e) {
-            String error = String.format("Element '%s' is not visible: %s", elementName, e.getMessage());
-            System.err.println("✗ " + error);
-            throw new AssertionError(error);
         }
     }
 
@@ -389,21 +483,61 @@ public class ElementHelper {
     }
 
     /**
-     * Navigates to the specified URL.
+     * Navigates to the specified URL and waits for the readiness configured with
+     * {@code navigation.readiness} of the run profile.
      * @param url The URL to navigate to.
      */
     public void navigateToUrl(String url) {
-        try {
-            driver.get(url);
-            System.out.printf("✓ Navigated to URL: %s%n", url);
-            waitForSeconds(2);
-        } catch (Exception e) {
-            String error = String.format("✗ Failed to navigate to URL '%s': %s", url, e.getMessage());
-            System.err.println(error);
-            throw new RuntimeException(error, e);
+        navigateTo(url, Readiness.configured());
+    }
+
+    /**
+     * Navigates to the specified URL and returns once the readiness conditions hold. How
+     * early the page load itself returns depends on the session's page load strategy.
+     * @param url The URL to navigate to.
+     * @param readiness The conditions to wait for, in order.
+     * @return How long the page load and each condition took.
+     */
+    public NavigationResult navigateTo(String url, Readiness readiness) {
+        try (ActionScope action = ActionMetrics.start("navigateToUrl", url)) {
+            try {
+                List<WaitEngine.WaitResult> phases = new ArrayList<>(readiness.conditions().size() + 1);
+                long start = System.nanoTime();
+                elementCache.invalidateAll();
+                driver.get(url);
+                phases.add(new WaitEngine.WaitResult("navigation", true, Duration.ofNanos(System.nanoTime() - start)));
+                for (Readiness.Condition condition : readiness.conditions()) {
+                    phases.add(awaitReadiness(condition));
+                }
+                NavigationResult result = new NavigationResult(url, List.copyOf(phases));
+                if (result.ready()) {
+                    EventLog.info("navigateToUrl.succeeded", "Navigated to URL: %s (%s)", url, result.toString());
+                } else {
+                    EventLog.warn("navigateToUrl.notReady", "Navigated to URL: %s, not all conditions met (%s)",
+                        url, result.toString());
+                }
+                action.succeeded();
+                return result;
+            } catch (Exception e) {
+                String error = String.format("Failed to navigate to URL '%s': %s", url, e.getMessage());
+                EventLog.error("navigateToUrl.failed", "%s", error);
+                throw new RuntimeException(error, e);
+            }
         }
     }
 
+    private WaitEngine.WaitResult awaitReadiness(Readiness.Condition condition) {
+        Duration timeout = waitEngine.getDefaultTimeout();
+        return switch (condition.kind()) {
+            case DOM_CONTENT_LOADED -> waitEngine.waitForDomContentLoaded(timeout);
+            case LOAD -> waitEngine.waitForDocumentReady(timeout);
+            case NETWORK_IDLE -> waitEngine.waitForNetworkIdle(condition.period(), timeout);
+            case DOM_QUIET -> waitEngine.waitForDomQuiescence(condition.period(),
+                    timeout.compareTo(config.navigationDomQuietCap()) < 0 ? timeout : config.navigationDomQuietCap());
+            case VISIBLE -> waitEngine.waitForVisible(getLocator(condition.elementName()), timeout);
+        };
+    }
+
     /**
      * Verifies that all elements in a list contain the expected text.
      * @param elementName The name of the element that returns multiple elements
@@ -411,48 +545,221 @@ public class ElementHelper {
      * @return True if all elements contain the expected text, false otherwise
      */
     public boolean verifyTextInElements(String elementName, String expectedText) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                String error = String.format("Elements '%s' could not be found on the page", elementName);
-                System.err.println("✗ " + error);
+        try (ActionScope action = ActionMetrics.start("verifyTextInElements", elementName)) {
+            try {
+                return action.result(verifyTexts(elementName, TextMatcher.contains(expectedText)).allMatched());
+            } catch (Exception e) {
+                String error = String.format("Error while verifying text in elements '%s': %s", 
+                    elementName, e.getMessage());
+                EventLog.error("verifyTextInElements.failed", "%s", error);
                 return false;
             }
+        }
+    }
 
-            var elements = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
-            
-            if (elements.isEmpty()) {
-                System.err.printf("✗ No elements found for '%s'%n", elementName);
-                return false;
+    /**
+     * Checks the text of every element matched by the locator. All texts are pulled in one
+     * script call and the matcher is evaluated locally; hidden rows are reported but not evaluated.
+     * @param elementName The name of the element that returns multiple elements
+     * @param matcher The condition every visible element must satisfy
+     * @return The per-row result
+     */
+    public TextVerificationResult verifyTexts(String elementName, TextMatcher matcher) {
+        try (ActionScope action = ActionMetrics.start("verifyTexts", elementName)) {
+            Locator locator = getLocator(elementName);
+            if (scrollAndFindElement(locator) == null) {
+                throw new RuntimeException("Elements could not be found on the page: " + elementName);
             }
 
-            boolean allMatch = true;
-            for (int i = 0; i < elements.size(); i++) {
-                WebElement element = elements.get(i);
-                js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
-                waitForMilliseconds(300);
-                
-                String actualText = element.getText().trim();
-                boolean matches = actualText.contains(expectedText);
-                
-                if (matches) {
-                    highlightElement(element);
-                    System.out.printf("✓ Element %d contains expected text '%s': %s%n", 
-                        i + 1, expectedText, actualText);
+            List<ElementLocator.ElementText> texts = elementLocator.collectTexts(locator);
+            List<TextVerificationResult.Row> rows = new ArrayList<>(texts.size());
+            for (int i = 0; i < texts.size(); i++) {
+                ElementLocator.ElementText text = texts.get(i);
+                boolean matched = text.visible() && matcher.matches(text.text());
+                rows.add(new TextVerificationResult.Row(i + 1, text.text(), text.visible(), matched));
+
+                if (!text.visible()) {
+                    EventLog.debug("verifyTexts.hidden", "Element %d is hidden, skipped: %s", i + 1, text.text());
+                } else if (matched) {
+                    EventLog.debug("verifyTexts.matched", "Element %d %s: %s", i + 1, matcher.toString(), text.text());
                 } else {
-                    System.err.printf("✗ Element %d does not contain expected text '%s'. Actual text: %s%n", 
-                        i + 1, expectedText, actualText);
-                    allMatch = false;
+                    EventLog.error("verifyTexts.mismatch", "Element %d does not satisfy %s. Actual text: %s",
+                        i + 1, matcher.toString(), text.text());
                 }
-                waitForMilliseconds(500);
             }
-            
-            return allMatch;
-        } catch (Exception e) {
-            String error = String.format("✗ Error while verifying text in elements '%s': %s", 
-                elementName, e.getMessage());
-            System.err.println(error);
-            return false;
+
+            List<WebElement> matchedElements = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).matched()) {
+                    matchedElements.add(texts.get(i).element());
+                }
+            }
+            highlighter.highlight(matchedElements);
+
+            TextVerificationResult result = new TextVerificationResult(elementName, matcher, List.copyOf(rows));
+            if (result.visibleCount() == 0) {
+                EventLog.error("verifyTexts.empty", "No visible elements found for '%s'", elementName);
+            }
+            if (result.allMatched()) {
+                EventLog.info("verifyTexts.succeeded", "All %d visible elements of '%s': %s",
+                    result.visibleCount(), elementName, matcher.toString());
+            }
+            action.result(result.allMatched());
+            return result;
+        }
+    }
+
+    /**
+     * Verifies that all elements of a list contain the expected text, reading the list in
+     * batches so rows that are lazy-loaded, paginated or virtualized are checked as well.
+     * @param elementName The name of the element that returns multiple elements
+     * @param expectedText The text that should be present in all elements
+     * @param options Batch size, fail-fast and load-more settings
+     * @return True if the whole list was read and all visible elements contain the expected text
+     */
+    public boolean verifyTextInElements(String elementName, String expectedText, StreamOptions options) {
+        try (ActionScope action = ActionMetrics.start("verifyTextInElements", elementName)) {
+            try {
+                return action.result(verifyTextsStreaming(elementName, TextMatcher.contains(expectedText), options)
+                    .allMatched());
+            } catch (Exception e) {
+                String error = String.format("Error while verifying text in elements '%s': %s",
+                    elementName, e.getMessage());
+                EventLog.error("verifyTextInElements.failed", "%s", error);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Checks the text of every row of a list while moving through it: each batch of newly
+     * rendered rows is evaluated as it arrives and then dropped, and failing rows beyond
+     * {@link StreamOptions#maxRetainedFailures()} are only counted, so memory stays flat
+     * regardless of the list length. The list is scrolled, and the load-more element
+     * clicked if one is configured, until no new rows appear.
+     * @param elementName The name of the element that returns multiple elements
+     * @param matcher The condition every visible row must satisfy
+     * @param options Batch size, fail-fast, timeout and load-more settings
+     * @return Counters and the failing rows
+     */
+    public StreamVerificationResult verifyTextsStreaming(String elementName, TextMatcher matcher,
+                                                         StreamOptions options) {
+        try (ActionScope action = ActionMetrics.start("verifyTextsStreaming", elementName)) {
+            Locator locator = getLocator(elementName);
+            Locator loadMore = options.loadMoreElement() == null ? null : getLocator(options.loadMoreElement());
+            if (scrollAndFindElement(locator) == null) {
+                throw new RuntimeException("Elements could not be found on the page: " + elementName);
+            }
+
+            String streamId = elementName + "-" + STREAM_IDS.incrementAndGet();
+            long deadline = System.nanoTime() + options.timeout().toNanos();
+            Duration callTimeout = waitEngine.getDefaultTimeout().compareTo(options.timeout()) < 0
+                ? waitEngine.getDefaultTimeout() : options.timeout();
+            List<TextVerificationResult.Row> failures = new ArrayList<>();
+            long checked = 0;
+            long hidden = 0;
+            long failed = 0;
+            int index = 0;
+            boolean complete = false;
+            try {
+                read:
+                while (true) {
+                    ElementLocator.TextBatch batch = elementLocator.nextTexts(streamId, locator, loadMore,
+                        options.batchSize(), options.settleTime(), callTimeout);
+                    for (ElementLocator.ElementText text : batch.rows()) {
+                        index++;
+                        if (!text.visible()) {
+                            hidden++;
+                            EventLog.debug("verifyTexts.hidden", "Element %d is hidden, skipped: %s", index, text.text());
+                            continue;
+                        }
+                        checked++;
+                        if (matcher.matches(text.text())) {
+                            EventLog.debug("verifyTexts.matched", "Element %d %s: %s", index, matcher.toString(), text.text());
+                            continue;
+                        }
+                        failed++;
+                        if (failures.size() < options.maxRetainedFailures()) {
+                            failures.add(new TextVerificationResult.Row(index, text.text(), true, false));
+                        }
+                        EventLog.error("verifyTexts.mismatch", "Element %d does not satisfy %s. Actual text: %s",
+                            index, matcher.toString(), text.text());
+                        if (options.failFast()) {
+                            break read;
+                        }
+                    }
+                    if (batch.done()) {
+                        complete = true;
+                        break;
+                    }
+                    if (System.nanoTime() > deadline) {
+                        EventLog.warn("verifyTextsStreaming.timeout", "Stopped reading '%s' after %ds and %d rows",
+                            elementName, options.timeout().toSeconds(), index);
+                        break;
+                    }
+                }
+            } finally {
+                if (!complete) {
+                    elementLocator.closeStream(streamId);
+                }
+            }
+
+            StreamVerificationResult result = new StreamVerificationResult(elementName, matcher, checked, hidden,
+                failed, List.copyOf(failures), complete);
+            if (checked == 0) {
+                EventLog.error("verifyTexts.empty", "No visible elements found for '%s'", elementName);
+            } else if (result.allMatched()) {
+                EventLog.info("verifyTexts.succeeded", "All %d visible elements of '%s': %s",
+                    checked, elementName, matcher.toString());
+            } else if (failed > failures.size()) {
+                EventLog.error("verifyTexts.summary", "%d of %d visible elements of '%s' failed, the first %d are kept",
+                    failed, checked, elementName, failures.size());
+            }
+            action.result(result.allMatched());
+            return result;
+        }
+    }
+
+    /**
+     * Opens the page behind every link of a list and checks it, using a pool of tabs of
+     * the size configured with {@code tabPool.size}.
+     * @param linkElementName The name of the element that returns the link of every list item
+     * @param checks The checks every linked page must pass
+     * @return Counters and the failing pages
+     */
+    public LinkedPagesResult verifyLinkedPages(String linkElementName, PageCheck... checks) {
+        return verifyLinkedPages(linkElementName, config.tabPoolSize(), checks);
+    }
+
+    /**
+     * Collects every link of a list in one pass and opens them across a fixed number of
+     * tabs. Pages load concurrently; each loaded page is checked on a worker thread while
+     * its tab moves on to the next link. Returns on the tab the list is shown in.
+     * @param linkElementName The name of the element that returns the link of every list item
+     * @param tabs Number of pages in flight
+     * @param checks The checks every linked page must pass
+     * @return Counters and the failing pages
+     */
+    public LinkedPagesResult verifyLinkedPages(String linkElementName, int tabs, PageCheck... checks) {
+        try (ActionScope action = ActionMetrics.start("verifyLinkedPages", linkElementName)) {
+            Locator locator = getLocator(linkElementName);
+            if (scrollAndFindElement(locator) == null) {
+                throw new RuntimeException("Links could not be found on the page: " + linkElementName);
+            }
+            TabPool pool = new TabPool(driver, tabs, waitEngine.getDefaultTimeout());
+            List<TabPool.ListLink> links = pool.collectLinks(locator);
+            LinkedPagesResult result = pool.verify(linkElementName, links, List.of(checks));
+            if (result.links() == 0) {
+                EventLog.error("verifyLinkedPages.empty", "No links found for '%s'", linkElementName);
+            } else if (result.allPassed()) {
+                EventLog.info("verifyLinkedPages.succeeded", "All %d pages linked from '%s' passed %d checks in %dms using %d tabs",
+                    result.links(), linkElementName, checks.length, result.elapsed().toMillis(), tabs);
+            } else {
+                EventLog.error("verifyLinkedPages.summary", "%d of %d pages linked from '%s' failed",
+                    result.failures().size(), result.links(), linkElementName);
+            }
+            action.result(result.allPassed());
+            return result;
         }
     }
 
@@ -462,118 +769,117 @@ public class ElementHelper {
      */
     @SuppressWarnings("UseSpecificCatch")
     public void hoverElement(String elementName) {
-        By locator = getLocator(elementName);
-        try {
-            if (!scrollAndFindElement(locator)) {
-                throw new RuntimeException("Element not found after scrolling: " + elementName);
-            }
-            
-            WebElement element = waitForElementToBeInteractable(locator);
-            highlightElement(element);
-            
-            Actions actions = new Actions(driver);
-            actions.moveToElement(element).perform();
-            
-            waitForMilliseconds(300);
-            
-            waitForAnimationToComplete(element);
+        try (ActionScope action = ActionMetrics.start("hoverElement", elementName)) {
+            Locator locator = getLocator(elementName);
+            try {
+                withInteractableElement(locator, WaitEngine.Overlap.WAIT, element -> {
+                    highlightElement(element);
+                
+                    Actions actions = new Actions(driver);
+                    actions.moveToElement(element).perform();
+                
+                    waitEngine.waitForElementStable(element);
+                });
             
-            System.out.printf("✓ Successfully hovered over element '%s'%n", elementName);
+                EventLog.info("hoverElement.succeeded", "Successfully hovered over element '%s'", elementName);
+                action.succeeded();
             
-        } catch (Exception e) {
-            String error = String.format("✗ Failed to hover over element '%s': %s", elementName, e.getMessage());
-            System.err.println(error);
-            throw new RuntimeException(error, e);
+            } catch (Exception e) {
+                String error = String.format("Failed to hover over element '%s': %s", elementName, e.getMessage());
+                EventLog.error("hoverElement.failed", "%s", error);
+                throw new RuntimeException(error, e);
+            }
         }
     }
 
     /**
-     * Verifies if current URL contains the expected domain
+     * Verifies if current URL contains the expected domain, waiting for a redirect to it
      * @param expectedDomain Domain to verify (e.g., "useinsider.com", "careers.useinsider.com")
      * @return True if current URL contains the expected domain, false otherwise
      */
     public boolean verifyDomain(String expectedDomain) {
-        try {
-            waitForSeconds(1);
-            String currentUrl = driver.getCurrentUrl();
+        try (ActionScope action = ActionMetrics.start("verifyDomain", expectedDomain)) {
+            try {
+                String domain = expectedDomain.toLowerCase(Locale.ROOT);
+                waitEngine.waitFor("url-domain", waitEngine.getDefaultTimeout(),
+                    d -> d.getCurrentUrl().toLowerCase(Locale.ROOT).contains(domain));
+                String currentUrl = driver.getCurrentUrl();
             
-            boolean isDomainValid = currentUrl.toLowerCase().contains(expectedDomain.toLowerCase());
+                boolean isDomainValid = currentUrl.toLowerCase(Locale.ROOT).contains(domain);
             
-            if (isDomainValid) {
-                System.out.printf("✓ Current URL '%s' contains expected domain '%s'%n", 
-                    currentUrl, expectedDomain);
-            } else {
-                System.err.printf("✗ Current URL '%s' does not contain expected domain '%s'%n", 
-                    currentUrl, expectedDomain);
-            }
+                if (isDomainValid) {
+                    EventLog.info("verifyDomain.succeeded", "Current URL '%s' contains expected domain '%s'",
+                        currentUrl, expectedDomain);
+                } else {
+                    EventLog.error("verifyDomain.mismatch", "Current URL '%s' does not contain expected domain '%s'",
+                        currentUrl, expectedDomain);
+                }
             
-            return isDomainValid;
-        } catch (Exception e) {
-            String error = String.format("✗ Error while verifying domain '%s': %s", 
-                expectedDomain, e.getMessage());
-            System.err.println(error);
-            return false;
+                return action.result(isDomainValid);
+            } catch (Exception e) {
+                String error = String.format("Error while verifying domain '%s': %s", 
+                    expectedDomain, e.getMessage());
+                EventLog.error("verifyDomain.failed", "%s", error);
+                return false;
+            }
         }
     }
 
     /**
-     * Switches to the newly opened tab and waits for page load
+     * Switches to the newly opened tab as soon as it exists and waits for page load
      * @return true if switch successful, false otherwise
      */
     public boolean switchToNewTab() {
-        try {
-            String originalWindow = driver.getWindowHandle();
-            waitForSeconds(2);
-            
-            for (String windowHandle : driver.getWindowHandles()) {
-                if (!originalWindow.equals(windowHandle)) {
-                    driver.switchTo().window(windowHandle);
-                    wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                        .executeScript("return document.readyState").equals("complete"));
-                    
-                    System.out.printf("✓ Switched to new tab: %s%n", driver.getCurrentUrl());
-                    return true;
+        try (ActionScope action = ActionMetrics.start("switchToNewTab", null)) {
+            try {
+                if (windows.switchToOpened(waitEngine.getDefaultTimeout()) == null) {
+                    EventLog.error("switchToNewTab.notFound", "No new tab found to switch to");
+                    return false;
                 }
+                waitEngine.waitForDocumentReady();
+                EventLog.info("switchToNewTab.succeeded", "Switched to new tab: %s", driver.getCurrentUrl());
+                return action.result(true);
+            } catch (Exception e) {
+                String error = "Failed to switch to new tab: " + e.getMessage();
+                EventLog.error("switchToNewTab.failed", "%s", error);
+                return false;
             }
-            
-            System.err.println("✗ No new tab found to switch to");
-            return false;
-            
-        } catch (Exception e) {
-            String error = "✗ Failed to switch to new tab: " + e.getMessage();
-            System.err.println(error);
-            return false;
         }
     }
 
     /**
-     * Takes screenshot and saves it with timestamp and test name
+     * Closes the current tab and returns to the tab it was opened from
+     * @return true if a tab was closed, false if the current tab is the first one
+     */
+    public boolean closeCurrentTab() {
+        try (ActionScope action = ActionMetrics.start("closeCurrentTab", null)) {
+            boolean closed = windows.closeCurrent();
+            if (closed) {
+                EventLog.info("closeCurrentTab.succeeded", "Closed tab, back to: %s", driver.getCurrentUrl());
+            }
+            return action.result(closed);
+        }
+    }
+
+    /**
+     * Takes screenshot and hands it to the {@link ArtifactWriter}, which saves it with
+     * timestamp and test name in the background
      * @param testName Name of the test case
-     * @return Path to the saved screenshot
+     * @return Path the screenshot is saved to
      */
     @SuppressWarnings("UseSpecificCatch")
     public String takeScreenshot(String testName) {
-        try {
-            String timestamp = java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = String.format("screenshot_%s_%s.png", testName, timestamp);
-            String filePath = "test-output/screenshots/" + fileName;
-
-            java.io.File directory = new java.io.File("test-output/screenshots");
-            if (!directory.exists()) {
-                directory.mkdirs();
+        try (ActionScope action = ActionMetrics.start("takeScreenshot", testName)) {
+            try {
+                byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+                String filePath = ArtifactWriter.getInstance().submitScreenshot(testName, png).toString();
+                action.succeeded();
+                return filePath;
+            } catch (Exception e) {
+                String error = String.format("Failed to take screenshot: %s", e.getMessage());
+                EventLog.error("takeScreenshot.failed", "%s", error);
+                return null;
             }
-
-            java.io.File screenshotFile = ((org.openqa.selenium.TakesScreenshot) driver)
-                .getScreenshotAs(org.openqa.selenium.OutputType.FILE);
-            
-            org.apache.commons.io.FileUtils.copyFile(screenshotFile, new java.io.File(filePath));
-            
-            System.out.printf("✓ Screenshot saved: %s%n", filePath);
-            return filePath;
-        } catch (Exception e) {
-            String error = String.format("✗ Failed to take screenshot: %s", e.getMessage());
-            System.err.println(error);
-            return null;
         }
     }
 }
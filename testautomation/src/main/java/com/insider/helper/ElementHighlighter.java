@@ -0,0 +1,67 @@
+package com.insider.helper;
+
+import java.util.List;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Highlights elements with a short outline animation that fades out in the page by
+ * itself. The call returns as soon as the animation is started, so the test thread never
+ * waits for it, and no style attribute is read back or restored.
+ *
+ * <p>The animation uses the Web Animations API rather than a class or overlay: it leaves
+ * the DOM untouched, so it does not disturb the mutation-based waits in {@link WaitEngine}.
+ */
+public class ElementHighlighter {
+    private static final String HIGHLIGHT_SCRIPT = """
+            var elements = arguments[0], duration = arguments[1];
+            for (var i = 0; i < elements.length; i++) {
+                var el = elements[i];
+                if (!el || !el.animate) { continue; }
+                el.animate([
+                    {outline: '2px solid red', outlineOffset: '0px', backgroundColor: 'yellow'},
+                    {outline: '2px solid rgba(255, 0, 0, 0)', outlineOffset: '0px', backgroundColor: 'rgba(255, 255, 0, 0)'}
+                ], {duration: duration, easing: 'ease-out'});
+            }
+            """;
+
+    private final JavascriptExecutor js;
+    private final boolean enabled;
+    private final long durationMillis;
+
+    /**
+     * @param driver The session to highlight in.
+     * @param enabled Whether highlighting is on; when off every call is a no-op.
+     * @param durationMillis How long the highlight takes to fade out in the page.
+     */
+    public ElementHighlighter(WebDriver driver, boolean enabled, long durationMillis) {
+        this.js = (JavascriptExecutor) driver;
+        this.enabled = enabled;
+        this.durationMillis = durationMillis;
+    }
+
+    public void highlight(WebElement element) {
+        highlight(List.of(element));
+    }
+
+    /**
+     * Starts the highlight on all given elements with a single script call.
+     * @param elements The elements to highlight.
+     */
+    public void highlight(List<WebElement> elements) {
+        if (!enabled || elements.isEmpty()) {
+            return;
+        }
+        try {
+            js.executeScript(HIGHLIGHT_SCRIPT, elements, durationMillis);
+        } catch (RuntimeException ignored) {
+            // Highlighting is cosmetic; a detached element must not fail the action.
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
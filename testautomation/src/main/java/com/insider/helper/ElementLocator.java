@@ -0,0 +1,287 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Locates elements inside the page with a single script call. The script resolves the
+ * locator, checks visibility and viewport position, and scrolls the element into view
+ * at most once.
+ */
+public class ElementLocator {
+    /**
+     * Defines {@code findFirst(type, value)}, {@code findAll(type, value)} and
+     * {@code isVisible(el)} for the scripts below and in {@link WaitEngine}.
+     */
+    static final String RESOLVER = """
+            function findFirst(type, value) {
+                var el = null;
+                switch (type) {
+                    case 'xpath':
+                        el = document.evaluate(value, document, null,
+                            XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                        break;
+                    case 'css': el = document.querySelector(value); break;
+                    case 'id': el = document.getElementById(value); break;
+                    case 'name': el = document.getElementsByName(value)[0] || null; break;
+                }
+                return el && el.nodeType === 1 ? el : null;
+            }
+            function findAll(type, value) {
+                switch (type) {
+                    case 'xpath':
+                        var snapshot = document.evaluate(value, document, null,
+                            XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        var nodes = [];
+                        for (var i = 0; i < snapshot.snapshotLength; i++) {
+                            if (snapshot.snapshotItem(i).nodeType === 1) { nodes.push(snapshot.snapshotItem(i)); }
+                        }
+                        return nodes;
+                    case 'css': return Array.prototype.slice.call(document.querySelectorAll(value));
+                    case 'id': var byId = document.getElementById(value); return byId ? [byId] : [];
+                    case 'name': return Array.prototype.slice.call(document.getElementsByName(value));
+                }
+                return [];
+            }
+            function isVisible(el) {
+                var style = window.getComputedStyle(el);
+                var rect = el.getBoundingClientRect();
+                return el.getClientRects().length > 0 && rect.width > 0 && rect.height > 0
+                    && style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';
+            }
+            """;
+
+    private static final String LOCATE_SCRIPT = RESOLVER + """
+            var el = findFirst(arguments[0], arguments[1]);
+            if (!el) {
+                return {element: null, visible: false, scrolled: false};
+            }
+            var visible = isVisible(el);
+            var scrolled = false;
+            if (visible) {
+                var rect = el.getBoundingClientRect();
+                var inViewport = rect.top >= 0 && rect.left >= 0
+                    && rect.bottom <= window.innerHeight && rect.right <= window.innerWidth;
+                if (!inViewport) {
+                    el.scrollIntoView({behavior: 'instant', block: 'center', inline: 'nearest'});
+                    scrolled = true;
+                }
+            }
+            return {element: el, visible: visible, scrolled: scrolled};
+            """;
+
+    private static final String TEXTS_SCRIPT = RESOLVER + """
+            return findAll(arguments[0], arguments[1]).map(function (el) {
+                var visible = isVisible(el);
+                var text = visible ? el.innerText : el.textContent;
+                return {element: el, text: (text || '').trim(), visible: visible};
+            });
+            """;
+
+    /**
+     * Returns the next rows of a list that may lazy-load, paginate or virtualize its rows.
+     * A MutationObserver kept in {@code window.__insiderStreams} collects the nodes added or
+     * changed since the previous call, so only rows not reported yet are read; a row whose
+     * node was recycled with different text counts as new. With nothing new the script
+     * scrolls the list's scroll container, or clicks the load-more element at the end, and
+     * waits for rows to render. Rows beyond the batch size stay queued in the page.
+     */
+    private static final String TEXT_STREAM_SCRIPT = RESOLVER + """
+            var id = arguments[0], type = arguments[1], value = arguments[2], batchSize = arguments[3];
+            var settleMs = arguments[4], timeoutMs = arguments[5], moreType = arguments[6], moreValue = arguments[7];
+            var done = arguments[arguments.length - 1];
+            var start = performance.now();
+            var streams = window.__insiderStreams = window.__insiderStreams || {};
+            var s = streams[id];
+            if (!s) {
+                s = streams[id] = {seen: new WeakMap(), queue: [], candidates: new Set(), initial: true, last: null, wake: null};
+                s.observer = new MutationObserver(function (mutations) {
+                    mutations.forEach(function (m) {
+                        var nodes = m.type === 'childList' ? m.addedNodes : [m.target];
+                        nodes.forEach(function (n) { s.candidates.add(n.nodeType === 1 ? n : n.parentElement); });
+                    });
+                    if (s.wake) { s.wake(); }
+                });
+                s.observer.observe(document.documentElement, {childList: true, subtree: true, characterData: true});
+            }
+            function collect() {
+                var els = [];
+                if (s.initial || (type !== 'css' && s.candidates.size)) {
+                    els = findAll(type, value);
+                } else if (type === 'css') {
+                    s.candidates.forEach(function (root) {
+                        if (!root || !root.isConnected) { return; }
+                        var row = root.closest(value);
+                        if (row) { els.push(row); }
+                        root.querySelectorAll(value).forEach(function (el) { els.push(el); });
+                    });
+                    els.sort(function (a, b) {
+                        return a === b ? 0 : (a.compareDocumentPosition(b) & Node.DOCUMENT_POSITION_FOLLOWING ? -1 : 1);
+                    });
+                }
+                s.initial = false;
+                s.candidates.clear();
+                els.forEach(function (el) {
+                    var visible = isVisible(el);
+                    var text = ((visible ? el.innerText : el.textContent) || '').trim();
+                    if (s.seen.get(el) !== text) {
+                        s.seen.set(el, text);
+                        s.queue.push({text: text, visible: visible});
+                        s.last = el;
+                    }
+                });
+            }
+            function scrollParent(el) {
+                for (var p = el && el.parentElement; p; p = p.parentElement) {
+                    var overflow = window.getComputedStyle(p).overflowY;
+                    if ((overflow === 'auto' || overflow === 'scroll') && p.scrollHeight > p.clientHeight) { return p; }
+                }
+                return document.scrollingElement || document.documentElement;
+            }
+            function advance() {
+                var scroller = scrollParent(s.last);
+                var before = scroller.scrollTop;
+                scroller.scrollTop = before + Math.max(100, scroller.clientHeight * 0.9);
+                if (scroller.scrollTop > before) { return true; }
+                var more = moreType ? findFirst(moreType, moreValue) : null;
+                if (more && isVisible(more) && !more.disabled) { more.click(); return true; }
+                return false;
+            }
+            function respond(finished) {
+                var rows = s.queue.splice(0, batchSize);
+                var complete = finished && s.queue.length === 0;
+                if (complete) { s.observer.disconnect(); delete streams[id]; }
+                done({rows: rows, done: complete});
+            }
+            collect();
+            if (s.queue.length) { respond(false); return; }
+            (function step() {
+                var moved = advance();
+                var timer = setTimeout(settle, settleMs);
+                s.wake = function () { s.wake = null; clearTimeout(timer); timer = setTimeout(settle, 50); };
+                function settle() {
+                    s.wake = null;
+                    collect();
+                    if (s.queue.length) { respond(false); return; }
+                    if (!moved) { respond(true); return; }
+                    if (performance.now() - start > timeoutMs) { respond(false); return; }
+                    step();
+                }
+            })();
+            """;
+
+    private static final String CLOSE_STREAM_SCRIPT = """
+            var streams = window.__insiderStreams, s = streams && streams[arguments[0]];
+            if (s) { s.observer.disconnect(); delete streams[arguments[0]]; }
+            """;
+
+    private final JavascriptExecutor js;
+
+    public ElementLocator(WebDriver driver) {
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    /**
+     * Resolves the locator in the page and brings a visible match into the viewport.
+     * @param locator The locator definition to resolve.
+     * @return The first match together with its visibility state.
+     */
+    @SuppressWarnings("unchecked")
+    public Result locate(Locator locator) {
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(
+                LOCATE_SCRIPT, locator.type(), locator.value());
+        return new Result(
+                (WebElement) result.get("element"),
+                Boolean.TRUE.equals(result.get("visible")),
+                Boolean.TRUE.equals(result.get("scrolled")));
+    }
+
+    /**
+     * Pulls the text and visibility of every element matched by the locator in one call.
+     * @param locator The locator definition to resolve.
+     * @return One entry per match, in document order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ElementText> collectTexts(Locator locator) {
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) js.executeScript(
+                TEXTS_SCRIPT, locator.type(), locator.value());
+        List<ElementText> texts = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            texts.add(new ElementText(
+                    (WebElement) row.get("element"),
+                    String.valueOf(row.get("text")),
+                    Boolean.TRUE.equals(row.get("visible"))));
+        }
+        return texts;
+    }
+
+    /**
+     * Reads the next rows of a stream over the elements matched by the locator, scrolling
+     * or loading more rows as needed. The first call of a stream returns the rows already
+     * rendered; later calls only rows rendered or changed since.
+     * @param streamId Identifier of the stream, unique per verification.
+     * @param locator The locator matching the rows.
+     * @param loadMore Element clicked when the list cannot be scrolled further, or null.
+     * @param batchSize Maximum rows returned per call.
+     * @param settleTime How long to wait for new rows after scrolling.
+     * @param timeout Upper bound for this call; an empty, unfinished batch is returned when it expires.
+     * @return The next rows, without element references, and whether the list is exhausted.
+     */
+    @SuppressWarnings("unchecked")
+    public TextBatch nextTexts(String streamId, Locator locator, Locator loadMore, int batchSize,
+                               Duration settleTime, Duration timeout) {
+        Map<String, Object> result = (Map<String, Object>) js.executeAsyncScript(TEXT_STREAM_SCRIPT,
+                streamId, locator.type(), locator.value(), batchSize, settleTime.toMillis(), timeout.toMillis(),
+                loadMore == null ? null : loadMore.type(), loadMore == null ? null : loadMore.value());
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) result.get("rows");
+        List<ElementText> texts = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            texts.add(new ElementText(null, String.valueOf(row.get("text")), Boolean.TRUE.equals(row.get("visible"))));
+        }
+        return new TextBatch(texts, Boolean.TRUE.equals(result.get("done")));
+    }
+
+    /**
+     * Stops a stream before it is exhausted and disconnects its observer.
+     * @param streamId Identifier passed to {@link #nextTexts}.
+     */
+    public void closeStream(String streamId) {
+        js.executeScript(CLOSE_STREAM_SCRIPT, streamId);
+    }
+
+    /**
+     * One batch of a text stream.
+     * @param rows Rows in document order; their element is null.
+     * @param done Whether the list is exhausted and the stream closed.
+     */
+    public record TextBatch(List<ElementText> rows, boolean done) {
+    }
+
+    /**
+     * Text snapshot of one matched element.
+     * @param element The matched element, or null for rows read by {@link #nextTexts}.
+     * @param text Trimmed innerText, or textContent when the element is not rendered.
+     * @param visible Whether the element is rendered and not hidden by CSS.
+     */
+    public record ElementText(WebElement element, String text, boolean visible) {
+    }
+
+    /**
+     * Outcome of a single in-page lookup.
+     * @param element The first matching element, or null when nothing matched.
+     * @param visible Whether the element is rendered and not hidden by CSS.
+     * @param scrolled Whether the script had to scroll the element into view.
+     */
+    public record Result(WebElement element, boolean visible, boolean scrolled) {
+
+        public boolean found() {
+            return element != null;
+        }
+    }
+}
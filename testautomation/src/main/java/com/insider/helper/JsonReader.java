@@ -2,6 +2,7 @@ package com.insider.helper;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
 
 import org.json.JSONObject;
 import org.json.JSONTokener;
@@ -10,17 +11,33 @@ public class JsonReader {
     private final JSONObject locators;
 
     public JsonReader() {
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("locators.json")) {
+        this("locators.json");
+    }
+
+    public JsonReader(String resourceName) {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourceName)) {
             if (inputStream == null) {
-                throw new RuntimeException("Cannot find locators.json in test resources");
+                throw new RuntimeException("Cannot find " + resourceName + " in test resources");
             }
-            JSONTokener tokener = new JSONTokener(inputStream);
-            locators = new JSONObject(tokener);
+            locators = parse(inputStream);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load locators.json from test resources", e);
+            throw new RuntimeException("Failed to load " + resourceName + " from test resources", e);
         }
     }
 
+    public JsonReader(InputStream inputStream) {
+        locators = parse(inputStream);
+    }
+
+    private static JSONObject parse(InputStream inputStream) {
+        JSONTokener tokener = new JSONTokener(inputStream);
+        return new JSONObject(tokener);
+    }
+
+    public Set<String> getElementNames() {
+        return locators.keySet();
+    }
+
     public String getLocatorType(String elementName) {
         return locators.getJSONObject(elementName).getString("type");
     }
@@ -28,4 +45,8 @@ public class JsonReader {
     public String getLocatorValue(String elementName) {
         return locators.getJSONObject(elementName).getString("value");
     }
+
+    public boolean isMultiple(String elementName) {
+        return locators.getJSONObject(elementName).optBoolean("multiple", false);
+    }
 }
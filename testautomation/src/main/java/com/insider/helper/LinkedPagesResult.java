@@ -0,0 +1,37 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of opening every link of a list and checking the pages. Only counters and
+ * failing pages are kept, so its size does not grow with the length of the list.
+ * @param elementName The locator of the links.
+ * @param links Links found in the list.
+ * @param checked Pages that loaded and were checked.
+ * @param failures Pages that did not load in time or failed a check, in list order.
+ * @param elapsed Wall time from the first tab opening to the last check.
+ */
+public record LinkedPagesResult(String elementName, int links, long checked, List<PageFailure> failures,
+                                Duration elapsed) {
+
+    /**
+     * @return True if there was at least one link and every linked page passed all checks.
+     */
+    public boolean allPassed() {
+        return links > 0 && checked == links && failures.isEmpty();
+    }
+
+    /**
+     * @param link The link the page was opened from.
+     * @param url The URL the page ended up on.
+     * @param failedChecks Names of the checks that failed, or why the page was not checked.
+     */
+    public record PageFailure(TabPool.ListLink link, String url, List<String> failedChecks) {
+
+        @Override
+        public String toString() {
+            return "#" + link.index() + " " + link.url() + " -> " + url + ": " + String.join(", ", failedChecks);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.insider.helper;
+
+import org.openqa.selenium.By;
+
+/**
+ * A named locator definition as declared in a locator file, compiled into a Selenium
+ * locator once.
+ * @param name The element name used by tests, qualified with its namespace if it has one.
+ * @param type The locator strategy: xpath, css, id or name.
+ * @param value The selector for the given strategy.
+ * @param by The compiled Selenium locator.
+ * @param multiple Whether the locator is meant to match a list of elements.
+ */
+public record Locator(String name, String type, String value, By by, boolean multiple) {
+
+    /**
+     * Compiles a raw definition of a single element into a locator.
+     * @param name The element name.
+     * @param type The locator strategy, case-insensitive.
+     * @param value The selector for the given strategy.
+     * @return The compiled locator.
+     */
+    public static Locator compile(String name, String type, String value) {
+        return compile(name, type, value, false);
+    }
+
+    /**
+     * Compiles a raw definition into a locator.
+     * @param name The element name.
+     * @param type The locator strategy, case-insensitive.
+     * @param value The selector for the given strategy.
+     * @param multiple Whether the locator is meant to match a list of elements.
+     * @return The compiled locator.
+     */
+    public static Locator compile(String name, String type, String value, boolean multiple) {
+        String normalizedType = type.toLowerCase();
+        By by = switch (normalizedType) {
+            case "xpath" -> By.xpath(value);
+            case "css" -> By.cssSelector(value);
+            case "id" -> By.id(value);
+            case "name" -> By.name(value);
+            default -> throw new IllegalArgumentException("Unsupported locator type: " + type);
+        };
+        return new Locator(name, normalizedType, value, by, multiple);
+    }
+}
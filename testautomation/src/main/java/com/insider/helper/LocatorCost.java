@@ -0,0 +1,44 @@
+package com.insider.helper;
+
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * What one locator costs on one page, as measured by {@link LocatorProfiler}.
+ * @param name The element name.
+ * @param type The locator strategy.
+ * @param value The selector.
+ * @param page The URL the locator was evaluated on.
+ * @param matches Elements the locator matched.
+ * @param visible Matched elements that are visible.
+ * @param micros Average time of one evaluation in the browser, in microseconds.
+ * @param suggestion A CSS selector matching the same elements, or null if none was found.
+ * @param suggestionMicros Average time of one evaluation of the suggestion, 0 without one.
+ * @param findings Lint and measurement findings, empty for a clean locator.
+ * @param overBudget Whether {@code micros} exceeds the cost budget.
+ */
+public record LocatorCost(String name, String type, String value, String page, int matches, int visible,
+                          double micros, String suggestion, double suggestionMicros, List<String> findings,
+                          boolean overBudget) {
+
+    public LocatorCost {
+        findings = List.copyOf(findings);
+    }
+
+    public JSONObject toJson() {
+        return new JSONObject()
+                .put("name", name)
+                .put("type", type)
+                .put("value", value)
+                .put("page", page)
+                .put("matches", matches)
+                .put("visible", visible)
+                .put("micros", micros)
+                .put("suggestion", suggestion == null ? JSONObject.NULL : suggestion)
+                .put("suggestionMicros", suggestionMicros)
+                .put("findings", new JSONArray(findings))
+                .put("overBudget", overBudget);
+    }
+}
@@ -0,0 +1,244 @@
+package com.insider.helper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Measures what every locator costs on the current page. All locators are evaluated in
+ * one script, each one repeatedly for the sample time, so the timings contain no
+ * WebDriver round trips. Besides the timing it reports match counts, flags ambiguous,
+ * invisible and brittle selectors, and suggests a CSS selector that matches the same
+ * elements.
+ */
+public final class LocatorProfiler {
+    private static final int MAX_CLASS_CHAIN = 4;
+    private static final Pattern WILDCARD_DESCENDANT = Pattern.compile("//\\*");
+    private static final Pattern TEXT_PREDICATE = Pattern.compile("text\\(\\)|normalize-space\\(|contains\\(");
+    private static final Pattern POSITIONAL_INDEX = Pattern.compile("\\[\\s*\\d+\\s*]");
+    private static final Pattern EXACT_CLASS = Pattern.compile("@class\\s*=\\s*['\"]([^'\"]*)['\"]");
+    private static final Pattern CSS_CLASS = Pattern.compile("\\.(-?[_a-zA-Z][\\w-]*)");
+    private static final Pattern GENERATED_CLASS = Pattern.compile("[a-z]-(?=[0-9a-f]*\\d)[0-9a-f]{6,}(?![\\w-])");
+
+    private static final String PROFILE_SCRIPT = ElementLocator.RESOLVER + """
+            var specs = arguments[0], sampleMillis = arguments[1];
+            function cost(evaluate) {
+                for (var warmup = 0; warmup < 3; warmup++) { evaluate(); }
+                var runs = 0, start = performance.now(), elapsed;
+                do {
+                    evaluate();
+                    runs++;
+                    elapsed = performance.now() - start;
+                } while (elapsed < sampleMillis && runs < 100000);
+                return elapsed * 1000 / runs;
+            }
+            function selectsExactly(selector, els) {
+                var found;
+                try { found = document.querySelectorAll(selector); } catch (e) { return false; }
+                if (found.length !== els.length) { return false; }
+                for (var i = 0; i < found.length; i++) {
+                    if (found[i] !== els[i]) { return false; }
+                }
+                return true;
+            }
+            function candidates(els) {
+                var list = [], first = els[0], tag = first.tagName.toLowerCase();
+                var sameTag = els.every(function (el) { return el.tagName === first.tagName; });
+                var containsAll = function (node) { return els.every(function (el) { return node.contains(el); }); };
+                var scope = first.parentElement;
+                while (scope && !(scope.id && containsAll(scope))) { scope = scope.parentElement; }
+                var scopeId = scope ? '#' + CSS.escape(scope.id) + ' ' : null;
+                // Rarest classes first, longer names before short layout utilities.
+                var shared = Array.prototype.filter.call(first.classList, function (c) {
+                    return els.every(function (el) { return el.classList.contains(c); });
+                }).sort(function (a, b) {
+                    return document.getElementsByClassName(a).length - document.getElementsByClassName(b).length
+                        || b.length - a.length;
+                });
+                if (els.length === 1 && first.id) { list.push('#' + CSS.escape(first.id)); }
+                if (scopeId && sameTag) { list.push(scopeId + tag); }
+                shared.forEach(function (c) {
+                    if (scopeId) { list.push(scopeId + '.' + CSS.escape(c)); }
+                    list.push('.' + CSS.escape(c));
+                    if (sameTag) { list.push(tag + '.' + CSS.escape(c)); }
+                });
+                var href = first.getAttribute('href');
+                if (els.length === 1 && href) { list.push(tag + '[href="' + CSS.escape(href) + '"]'); }
+                return list;
+            }
+            return specs.map(function (spec) {
+                var type = spec[0], value = spec[1], els;
+                try {
+                    els = findAll(type, value);
+                } catch (e) {
+                    return {error: String(e && e.message || e)};
+                }
+                var result = {
+                    matches: els.length,
+                    visible: els.filter(isVisible).length,
+                    micros: cost(function () { findAll(type, value); })
+                };
+                if (els.length > 0) {
+                    var suggestion = candidates(els).find(function (s) { return selectsExactly(s, els); });
+                    if (suggestion && !(type === 'css' && suggestion === value)) {
+                        result.suggestion = suggestion;
+                        result.suggestionMicros = cost(function () { document.querySelectorAll(suggestion); });
+                    }
+                }
+                return result;
+            });
+            """;
+
+    private final JavascriptExecutor js;
+    private final Duration sampleTime;
+    private final double budgetMicros;
+
+    /**
+     * @param driver The session whose current page is profiled.
+     * @param sampleTime How long each selector is evaluated repeatedly.
+     * @param budgetMicros Cost of one evaluation above which a locator is over budget.
+     */
+    public LocatorProfiler(WebDriver driver, Duration sampleTime, double budgetMicros) {
+        this.js = (JavascriptExecutor) driver;
+        this.sampleTime = sampleTime;
+        this.budgetMicros = budgetMicros;
+    }
+
+    /**
+     * Evaluates the locators on the page the driver is showing.
+     * @param page Label of the page in the results, usually its URL.
+     * @param locators The locators to profile.
+     * @return One entry per locator, in the given order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<LocatorCost> profile(String page, Collection<Locator> locators) {
+        List<List<String>> specs = locators.stream().map(locator -> List.of(locator.type(), locator.value())).toList();
+        List<Map<String, Object>> results = (List<Map<String, Object>>) js.executeScript(
+                PROFILE_SCRIPT, specs, sampleTime.toMillis());
+
+        List<LocatorCost> costs = new ArrayList<>();
+        int index = 0;
+        for (Locator locator : locators) {
+            Map<String, Object> result = results.get(index++);
+            List<String> findings = lint(locator, locators);
+            if (result.get("error") != null) {
+                findings.add(0, "fails in the browser: " + result.get("error"));
+                costs.add(new LocatorCost(locator.name(), locator.type(), locator.value(), page,
+                        0, 0, 0, null, 0, findings, false));
+                continue;
+            }
+            int matches = number(result, "matches").intValue();
+            int visible = number(result, "visible").intValue();
+            double micros = number(result, "micros").doubleValue();
+            String suggestion = (String) result.get("suggestion");
+            double suggestionMicros = suggestion == null ? 0 : number(result, "suggestionMicros").doubleValue();
+            boolean overBudget = micros > budgetMicros;
+
+            if (matches == 0) {
+                findings.add(0, "matches nothing on this page");
+            } else if (matches > 1 && !locator.multiple()) {
+                findings.add(0, "ambiguous: " + matches + " matches for a single element");
+            } else if (visible == 0) {
+                findings.add(0, "matches only invisible elements");
+            }
+            if (overBudget) {
+                findings.add(0, String.format(Locale.ROOT, "costs %.1f µs, budget %.1f µs", micros, budgetMicros));
+            }
+            if (suggestion != null && suggestionMicros >= micros && findings.isEmpty()) {
+                suggestion = null;
+                suggestionMicros = 0;
+            }
+            costs.add(new LocatorCost(locator.name(), locator.type(), locator.value(), page,
+                    matches, visible, micros, suggestion, suggestionMicros, findings, overBudget));
+        }
+        return costs;
+    }
+
+    /**
+     * Static checks that need no browser.
+     * @param locator The locator to check.
+     * @param all Every locator, to find duplicates.
+     * @return Findings, empty for a clean locator.
+     */
+    public static List<String> lint(Locator locator, Collection<Locator> all) {
+        List<String> findings = new ArrayList<>();
+        String value = locator.value();
+        if (locator.type().equals("xpath")) {
+            if (WILDCARD_DESCENDANT.matcher(value).find()) {
+                findings.add(TEXT_PREDICATE.matcher(value).find()
+                        ? "//* with a text predicate reads the text of every element in the document"
+                        : "//* visits every element in the document; start from a tag name or use CSS");
+            }
+            if (POSITIONAL_INDEX.matcher(value).find()) {
+                findings.add("positional index breaks when siblings are added or reordered");
+            }
+            Matcher exactClass = EXACT_CLASS.matcher(value);
+            if (exactClass.find()) {
+                findings.add("exact @class comparison breaks when a class is added or reordered");
+                addClassFindings(findings, List.of(exactClass.group(1).trim().split("\\s+")));
+            }
+        } else if (locator.type().equals("css")) {
+            List<String> classes = new ArrayList<>();
+            Matcher cssClass = CSS_CLASS.matcher(value);
+            while (cssClass.find()) {
+                classes.add(cssClass.group(1));
+            }
+            addClassFindings(findings, classes);
+        }
+        for (Locator other : all) {
+            if (other != locator && other.type().equals(locator.type()) && other.value().equals(value)) {
+                findings.add("same selector as '" + other.name() + "'");
+            }
+        }
+        return findings;
+    }
+
+    private static void addClassFindings(List<String> findings, List<String> classes) {
+        if (classes.size() > MAX_CLASS_CHAIN) {
+            findings.add("chain of " + classes.size() + " classes is slow to match and breaks with any style change");
+        }
+        for (String cssClass : classes) {
+            if (GENERATED_CLASS.matcher(cssClass).find()) {
+                findings.add("'" + cssClass + "' looks generated and changes when the page is rebuilt");
+            }
+        }
+    }
+
+    /**
+     * Writes the costs as JSON.
+     * @param file Output file, parent directories are created.
+     * @param costs The measured costs.
+     * @param budgetMicros The budget the costs were checked against.
+     */
+    public static void writeReport(Path file, List<LocatorCost> costs, double budgetMicros) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JSONArray rows = new JSONArray();
+        costs.forEach(cost -> rows.put(cost.toJson()));
+        JSONObject json = new JSONObject()
+                .put("generatedAt", Instant.now().toString())
+                .put("budgetMicros", budgetMicros)
+                .put("locators", rows);
+        Files.writeString(file, json.toString(2), StandardCharsets.UTF_8);
+    }
+
+    private static Number number(Map<String, Object> result, String key) {
+        return (Number) result.get(key);
+    }
+}
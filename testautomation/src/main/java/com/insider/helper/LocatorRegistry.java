@@ -0,0 +1,263 @@
+package com.insider.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.json.JSONException;
+
+/**
+ * Shared, immutable registry of every locator, compiled and validated once at startup.
+ *
+ * <p>Locator files are listed in the {@code locatorFiles} system property as a comma
+ * separated list. An entry is either a plain file, whose locators are looked up by bare
+ * name, or {@code namespace=file}, whose locators are looked up as {@code namespace:name}.
+ * Files are read from the file system when the path exists, otherwise from the classpath.
+ *
+ * <p>With {@code -Dlocators.reload=true} changed files are picked up on the next lookup,
+ * which is meant for local debugging only.
+ */
+public final class LocatorRegistry {
+    public static final String DEFAULT_FILES = "locators.json";
+    private static final long RELOAD_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final List<Source> sources;
+    private final boolean reloadEnabled;
+    private volatile Snapshot snapshot;
+    private volatile long lastReloadCheck;
+
+    private LocatorRegistry(List<Source> sources, boolean reloadEnabled) {
+        this.sources = sources;
+        this.reloadEnabled = reloadEnabled;
+        this.snapshot = load(sources);
+        this.lastReloadCheck = System.currentTimeMillis();
+    }
+
+    private static final class Holder {
+        private static final LocatorRegistry INSTANCE = new LocatorRegistry(
+                parseSources(System.getProperty("locatorFiles", DEFAULT_FILES)),
+                Boolean.getBoolean("locators.reload"));
+    }
+
+    /**
+     * @return The registry shared by every helper in this JVM.
+     */
+    public static LocatorRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Builds a registry for the given file list, using the same syntax as {@code locatorFiles}.
+     * @param files Comma separated locator files.
+     * @return A registry without hot reload.
+     */
+    public static LocatorRegistry of(String files) {
+        return new LocatorRegistry(parseSources(files), false);
+    }
+
+    /**
+     * Returns the compiled locator for an element name.
+     * @param elementName Bare name, or {@code namespace:name} for namespaced files.
+     * @return The compiled locator.
+     */
+    public Locator get(String elementName) {
+        if (reloadEnabled) {
+            reloadIfChanged();
+        }
+        Locator locator = snapshot.locators.get(elementName);
+        if (locator == null) {
+            throw new IllegalArgumentException("Unknown locator: " + elementName);
+        }
+        return locator;
+    }
+
+    /**
+     * @return Every registered locator keyed by its qualified name.
+     */
+    public Map<String, Locator> getAll() {
+        return snapshot.locators;
+    }
+
+    private void reloadIfChanged() {
+        long now = System.currentTimeMillis();
+        if (now - lastReloadCheck < RELOAD_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        synchronized (this) {
+            if (now - lastReloadCheck < RELOAD_CHECK_INTERVAL_MILLIS) {
+                return;
+            }
+            lastReloadCheck = now;
+            if (currentModificationTimes().equals(snapshot.modificationTimes)) {
+                return;
+            }
+            try {
+                snapshot = load(sources);
+                System.out.printf("✓ Reloaded %d locators%n", snapshot.locators.size());
+            } catch (RuntimeException e) {
+                System.err.printf("✗ Keeping previous locators, reload failed: %s%n", e.getMessage());
+            }
+        }
+    }
+
+    private List<Long> currentModificationTimes() {
+        List<Long> times = new ArrayList<>();
+        for (Source source : sources) {
+            times.add(source.lastModified());
+        }
+        return times;
+    }
+
+    private static List<Source> parseSources(String files) {
+        List<Source> sources = new ArrayList<>();
+        for (String entry : files.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            String namespace = separator < 0 ? "" : trimmed.substring(0, separator).trim();
+            String file = separator < 0 ? trimmed : trimmed.substring(separator + 1).trim();
+            sources.add(new Source(namespace, file));
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("No locator files configured");
+        }
+        return sources;
+    }
+
+    private static Snapshot load(List<Source> sources) {
+        Map<String, Locator> locators = new LinkedHashMap<>();
+        List<Long> modificationTimes = new ArrayList<>();
+        for (Source source : sources) {
+            modificationTimes.add(source.lastModified());
+            JsonReader reader = source.read();
+            for (String elementName : reader.getElementNames()) {
+                String qualifiedName = source.namespace.isEmpty()
+                        ? elementName
+                        : source.namespace + ":" + elementName;
+                Locator locator = compile(source, elementName, qualifiedName, reader);
+                if (locators.putIfAbsent(qualifiedName, locator) != null) {
+                    throw new IllegalStateException("Duplicate locator '" + qualifiedName + "' in " + source.file);
+                }
+            }
+        }
+        return new Snapshot(Collections.unmodifiableMap(locators), List.copyOf(modificationTimes));
+    }
+
+    private static Locator compile(Source source, String elementName, String qualifiedName, JsonReader reader) {
+        try {
+            Locator locator = Locator.compile(qualifiedName, reader.getLocatorType(elementName),
+                    reader.getLocatorValue(elementName), reader.isMultiple(elementName));
+            validate(locator);
+            return locator;
+        } catch (JSONException | IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Invalid locator '%s' in %s: %s",
+                    qualifiedName, source.file, e.getMessage()), e);
+        }
+    }
+
+    private static void validate(Locator locator) {
+        String value = locator.value();
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Empty " + locator.type() + " selector");
+        }
+        switch (locator.type()) {
+            case "xpath" -> {
+                try {
+                    XPathFactory.newInstance().newXPath().compile(value);
+                } catch (XPathExpressionException e) {
+                    throw new IllegalArgumentException("Malformed XPath: " + value, e);
+                }
+            }
+            case "css" -> validateCss(value);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Structural CSS check: balanced brackets, parentheses and quotes, and no dangling
+     * combinator. Selector semantics are left to the browser.
+     */
+    private static void validateCss(String value) {
+        int brackets = 0;
+        int parentheses = 0;
+        char quote = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (c) {
+                case '\'', '"' -> quote = c;
+                case '[' -> brackets++;
+                case ']' -> brackets--;
+                case '(' -> parentheses++;
+                case ')' -> parentheses--;
+                default -> {
+                }
+            }
+            if (brackets < 0 || parentheses < 0) {
+                break;
+            }
+        }
+        String trimmed = value.trim();
+        char last = trimmed.charAt(trimmed.length() - 1);
+        if (quote != 0 || brackets != 0 || parentheses != 0
+                || last == '>' || last == '+' || last == '~' || last == ','
+                || trimmed.startsWith(",")) {
+            throw new IllegalArgumentException("Malformed CSS selector: " + value);
+        }
+    }
+
+    private record Snapshot(Map<String, Locator> locators, List<Long> modificationTimes) {
+    }
+
+    private record Source(String namespace, String file) {
+
+        JsonReader read() {
+            Path path = Paths.get(file);
+            if (Files.isRegularFile(path)) {
+                try (InputStream input = Files.newInputStream(path)) {
+                    return new JsonReader(input);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to load locator file " + file, e);
+                }
+            }
+            return new JsonReader(file);
+        }
+
+        long lastModified() {
+            try {
+                Path path = Paths.get(file);
+                if (Files.isRegularFile(path)) {
+                    return Files.getLastModifiedTime(path).toMillis();
+                }
+                URL resource = LocatorRegistry.class.getClassLoader().getResource(file);
+                if (resource != null && "file".equals(resource.getProtocol())) {
+                    return Files.getLastModifiedTime(Paths.get(resource.toURI())).toMillis();
+                }
+            } catch (IOException | URISyntaxException ignored) {
+            }
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Timing of one navigation, phase by phase.
+ * @param url The URL that was loaded.
+ * @param phases The page load itself ({@code navigation}), then one entry per readiness condition.
+ */
+public record NavigationResult(String url, List<WaitEngine.WaitResult> phases) {
+
+    /**
+     * @return True if every readiness condition was met before its timeout.
+     */
+    public boolean ready() {
+        return phases.stream().allMatch(WaitEngine.WaitResult::satisfied);
+    }
+
+    public Duration total() {
+        return phases.stream().map(WaitEngine.WaitResult::elapsed).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @Override
+    public String toString() {
+        return phases.stream().map(WaitEngine.WaitResult::toString).collect(Collectors.joining(", "))
+                + ", total " + total().toMillis() + "ms";
+    }
+}
@@ -0,0 +1,114 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Tracks the requests a session has in flight from the DevTools Network events, so
+ * network idle covers documents, scripts, images and fonts and not only the fetch and
+ * XHR calls the in-page tracker sees. Event streams and requests pending for longer than
+ * {@code networkIdle.staleMillis} (default 15000), typically long polling, are ignored.
+ * The DevTools connection is attached to one tab, the one current when the monitor was
+ * created; {@link #monitors(String)} tells whether a tab's traffic is seen.
+ */
+public final class NetworkMonitor {
+    private static final Set<String> IGNORED_TYPES = Set.of("EventSource", "WebSocket", "Ping");
+    private static final long STALE_NANOS = Duration.ofMillis(Long.getLong("networkIdle.staleMillis", 15_000L)).toNanos();
+    private static final Map<WebDriver, NetworkMonitor> monitors = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Start time of every request in flight, by request ID. */
+    private final Map<String, Long> inflight = new ConcurrentHashMap<>();
+    private volatile long lastChangeNanos = System.nanoTime();
+    /** Window handle of the tab the DevTools connection is attached to. */
+    private final String target;
+
+    private NetworkMonitor(String target) {
+        this.target = target;
+    }
+
+    /**
+     * Returns the monitor of the session, attaching it on first use.
+     * @param driver The session to monitor.
+     * @return The monitor, or null when the session has no DevTools connection.
+     */
+    public static NetworkMonitor of(WebDriver driver) {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            return null;
+        }
+        synchronized (monitors) {
+            NetworkMonitor monitor = monitors.get(driver);
+            if (monitor == null) {
+                try {
+                    monitor = new NetworkMonitor(driver.getWindowHandle());
+                    monitor.attach(hasDevTools.getDevTools());
+                } catch (RuntimeException e) {
+                    EventLog.warn("networkMonitor.unavailable", "Network monitor unavailable, using the in-page tracker: %s",
+                            e.getMessage());
+                    return null;
+                }
+                monitors.put(driver, monitor);
+            }
+            return monitor;
+        }
+    }
+
+    /**
+     * @param idlePeriod How long the number of requests in flight must have been unchanged.
+     * @param maxInflight Requests that may still be in flight, e.g. analytics beacons.
+     * @return Whether the network counts as idle right now.
+     */
+    public boolean isIdle(Duration idlePeriod, int maxInflight) {
+        long now = System.nanoTime();
+        // Requests that never finish would otherwise stay for the life of the pooled session.
+        inflight.values().removeIf(start -> now - start >= STALE_NANOS);
+        return inflight.size() <= maxInflight && now - lastChangeNanos >= idlePeriod.toNanos();
+    }
+
+    /**
+     * @param handle A window handle.
+     * @return Whether the requests of that tab are the ones this monitor sees.
+     */
+    public boolean monitors(String handle) {
+        return target.equals(handle);
+    }
+
+    public int inflightCount() {
+        return inflight.size();
+    }
+
+    private void attach(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne(target);
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        devTools.addListener(networkEvent("Network.requestWillBeSent"), params -> {
+            if (!IGNORED_TYPES.contains(String.valueOf(params.get("type")))) {
+                inflight.putIfAbsent(String.valueOf(params.get("requestId")), System.nanoTime());
+                lastChangeNanos = System.nanoTime();
+            }
+        });
+        devTools.addListener(networkEvent("Network.loadingFinished"), this::finished);
+        devTools.addListener(networkEvent("Network.loadingFailed"), this::finished);
+    }
+
+    private void finished(Map<String, Object> params) {
+        if (inflight.remove(String.valueOf(params.get("requestId"))) != null) {
+            lastChangeNanos = System.nanoTime();
+        }
+    }
+
+    private static Event<Map<String, Object>> networkEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.insider.helper;
+
+import java.util.Locale;
+import java.util.function.BiPredicate;
+
+/**
+ * A condition on a page opened from a list link, evaluated locally on a
+ * {@link TabPool.PageSnapshot} so it can run while the browser moves on to the next page.
+ * @param name Description used in failure reports.
+ * @param elementName Locator whose text the snapshot must contain, or null if the check needs none.
+ * @param condition The check, given the link the page was opened from and the page snapshot.
+ */
+public record PageCheck(String name, String elementName,
+                        BiPredicate<TabPool.ListLink, TabPool.PageSnapshot> condition) {
+
+    /**
+     * @param expectedDomain Domain the page must end up on, after redirects.
+     */
+    public static PageCheck domain(String expectedDomain) {
+        String domain = expectedDomain.toLowerCase(Locale.ROOT);
+        return new PageCheck("domain contains '" + expectedDomain + "'", null,
+                (link, page) -> page.url().toLowerCase(Locale.ROOT).contains(domain));
+    }
+
+    public static PageCheck title(TextMatcher matcher) {
+        return new PageCheck("title " + matcher, null, (link, page) -> matcher.matches(page.title()));
+    }
+
+    /**
+     * The page title must contain the title of the list item the link belongs to, i.e. the
+     * page that opened is the one the list announced.
+     */
+    public static PageCheck titleContainsItemTitle() {
+        return new PageCheck("title contains the list item title", null,
+                (link, page) -> !link.itemTitle().isEmpty() && page.title().contains(link.itemTitle()));
+    }
+
+    /**
+     * @param elementName Locator of an element on the opened page.
+     * @param matcher Condition on the element's text.
+     */
+    public static PageCheck text(String elementName, TextMatcher matcher) {
+        return new PageCheck("'" + elementName + "' " + matcher, elementName, (link, page) -> {
+            String text = page.texts().get(elementName);
+            return text != null && matcher.matches(text);
+        });
+    }
+
+    boolean test(TabPool.ListLink link, TabPool.PageSnapshot page) {
+        try {
+            return condition.test(link, page);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.insider.config.RunConfig;
+
+/**
+ * The conditions a navigation waits for before it returns, checked in order. Written as
+ * a comma separated spec, e.g. {@code load,networkidle:500} or
+ * {@code domcontentloaded,visible:jobTitles}; {@code navigation.readiness} of the
+ * {@link RunConfig} sets the default, {@code load,domquiet:300}.
+ * @param conditions The conditions, in the order they are awaited.
+ */
+public record Readiness(List<Condition> conditions) {
+
+    public enum Kind {
+        /** The document has been parsed: {@code readyState} is no longer {@code loading}. */
+        DOM_CONTENT_LOADED,
+        /** {@code readyState} is {@code complete}. */
+        LOAD,
+        /** No request started or finished for the period, see {@link NetworkMonitor}. */
+        NETWORK_IDLE,
+        /** No node added, removed or changed its text for the period. */
+        DOM_QUIET,
+        /** The named locator matches a visible element. */
+        VISIBLE
+    }
+
+    public Readiness {
+        conditions = List.copyOf(conditions);
+    }
+
+    public static Readiness domContentLoaded() {
+        return new Readiness(List.of(new Condition(Kind.DOM_CONTENT_LOADED, null, null)));
+    }
+
+    public static Readiness load() {
+        return new Readiness(List.of(new Condition(Kind.LOAD, null, null)));
+    }
+
+    /**
+     * @param idlePeriod How long no request may start or finish.
+     */
+    public static Readiness networkIdle(Duration idlePeriod) {
+        return new Readiness(List.of(new Condition(Kind.NETWORK_IDLE, idlePeriod, null)));
+    }
+
+    /**
+     * @param quietPeriod How long the DOM must stay unchanged.
+     */
+    public static Readiness domQuiet(Duration quietPeriod) {
+        return new Readiness(List.of(new Condition(Kind.DOM_QUIET, quietPeriod, null)));
+    }
+
+    /**
+     * @param elementName Locator name of the element that marks the page as usable.
+     */
+    public static Readiness visible(String elementName) {
+        return new Readiness(List.of(new Condition(Kind.VISIBLE, null, elementName)));
+    }
+
+    /**
+     * @return The default readiness of the run profile.
+     */
+    public static Readiness configured() {
+        return parse(RunConfig.get().navigationReadiness());
+    }
+
+    /**
+     * @param spec Comma separated conditions: {@code domcontentloaded}, {@code load},
+     *             {@code networkidle[:ms]}, {@code domquiet[:ms]} or {@code visible:elementName}.
+     */
+    public static Readiness parse(String spec) {
+        List<Condition> conditions = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] kindAndArgument = part.trim().split(":", 2);
+            String argument = kindAndArgument.length > 1 ? kindAndArgument[1].trim() : null;
+            conditions.add(switch (kindAndArgument[0].toLowerCase(Locale.ROOT)) {
+                case "domcontentloaded" -> new Condition(Kind.DOM_CONTENT_LOADED, null, null);
+                case "load" -> new Condition(Kind.LOAD, null, null);
+                case "networkidle" -> new Condition(Kind.NETWORK_IDLE, millis(argument, 500), null);
+                case "domquiet" -> new Condition(Kind.DOM_QUIET, millis(argument, 300), null);
+                case "visible" -> {
+                    if (argument == null || argument.isEmpty()) {
+                        throw new IllegalArgumentException("visible needs an element name: " + spec);
+                    }
+                    yield new Condition(Kind.VISIBLE, null, argument);
+                }
+                default -> throw new IllegalArgumentException("Unknown readiness condition '" + part + "' in: " + spec);
+            });
+        }
+        return new Readiness(conditions);
+    }
+
+    /**
+     * @return A readiness that waits for these conditions and then for the other's.
+     */
+    public Readiness and(Readiness next) {
+        List<Condition> combined = new ArrayList<>(conditions);
+        combined.addAll(next.conditions());
+        return new Readiness(combined);
+    }
+
+    private static Duration millis(String argument, long defaultMillis) {
+        return Duration.ofMillis(argument == null ? defaultMillis : Long.parseLong(argument));
+    }
+
+    /**
+     * @param kind What to wait for.
+     * @param period Idle or quiet period for {@link Kind#NETWORK_IDLE} and {@link Kind#DOM_QUIET}.
+     * @param elementName Locator name for {@link Kind#VISIBLE}.
+     */
+    public record Condition(Kind kind, Duration period, String elementName) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.insider.helper;
+
+import java.time.Duration;
+
+/**
+ * Settings for verifying a list as a stream of batches.
+ * @param batchSize Maximum rows read per round trip.
+ * @param failFast Stop at the first visible row that does not match.
+ * @param settleTime How long to wait for new rows after scrolling before the list counts as exhausted.
+ * @param timeout Upper bound for the whole verification.
+ * @param loadMoreElement Locator name of a "load more" or "next" control clicked when the
+ *                        list cannot be scrolled further, or null.
+ * @param maxRetainedFailures How many failing rows the result keeps; further failures are only counted.
+ */
+public record StreamOptions(int batchSize, boolean failFast, Duration settleTime, Duration timeout,
+                            String loadMoreElement, int maxRetainedFailures) {
+
+    public StreamOptions {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (maxRetainedFailures < 0) {
+            throw new IllegalArgumentException("Retained failures must not be negative: " + maxRetainedFailures);
+        }
+    }
+
+    public static StreamOptions defaults() {
+        return new StreamOptions(50, false, Duration.ofMillis(500), Duration.ofSeconds(60), null, 20);
+    }
+
+    public StreamOptions withFailFast(boolean failFast) {
+        return new StreamOptions(batchSize, failFast, settleTime, timeout, loadMoreElement, maxRetainedFailures);
+    }
+
+    public StreamOptions withBatchSize(int batchSize) {
+        return new StreamOptions(batchSize, failFast, settleTime, timeout, loadMoreElement, maxRetainedFailures);
+    }
+
+    public StreamOptions withLoadMore(String loadMoreElement) {
+        return new StreamOptions(batchSize, failFast, settleTime, timeout, loadMoreElement, maxRetainedFailures);
+    }
+
+    public StreamOptions withMaxRetainedFailures(int maxRetainedFailures) {
+        return new StreamOptions(batchSize, failFast, settleTime, timeout, loadMoreElement, maxRetainedFailures);
+    }
+}
@@ -0,0 +1,26 @@
+package com.insider.helper;
+
+import java.util.List;
+
+/**
+ * Outcome of checking a list batch by batch. Only counters and a bounded number of failing
+ * rows are kept, so its size does not grow with the length of the list.
+ * @param elementName The locator name that was checked.
+ * @param matcher The condition every visible row had to satisfy.
+ * @param checked Visible rows evaluated.
+ * @param hidden Rows skipped because they were not rendered.
+ * @param failed Visible rows whose text did not satisfy the matcher.
+ * @param failures The first of those rows, at most {@link StreamOptions#maxRetainedFailures()}, in document order.
+ * @param complete False when the verification stopped before the end of the list, on the
+ *                 first failure or because the timeout expired.
+ */
+public record StreamVerificationResult(String elementName, TextMatcher matcher, long checked, long hidden,
+                                       long failed, List<TextVerificationResult.Row> failures, boolean complete) {
+
+    /**
+     * @return True if the whole list was read, at least one row was visible and every visible row matched.
+     */
+    public boolean allMatched() {
+        return complete && checked > 0 && failed == 0;
+    }
+}
@@ -0,0 +1,297 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.insider.logging.EventLog;
+import com.insider.metrics.ActionMetrics;
+
+/**
+ * Opens the links of a list in a fixed number of tabs of one session. Every tab loads
+ * its page in the background while the others are inspected; a loaded page is reduced
+ * to a {@link PageSnapshot} in one script call, its checks run on a worker thread and
+ * the tab moves on to the next link. At most {@code size} pages are loading and at most
+ * {@code size} snapshots wait for their checks at any time.
+ */
+public final class TabPool {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    /**
+     * Returns the href of every link matched by the locator together with the text of its
+     * list item: the link's ancestor right below the element that contains all links.
+     */
+    private static final String LINKS_SCRIPT = ElementLocator.RESOLVER + """
+            var links = findAll(arguments[0], arguments[1]).filter(function (el) { return el.href; });
+            if (links.length === 0) { return []; }
+            var list = links[0].parentElement;
+            while (list && !links.every(function (el) { return list.contains(el); })) { list = list.parentElement; }
+            return links.map(function (el) {
+                var item = links.length > 1 ? el : (el.parentElement || el);
+                while (links.length > 1 && item.parentElement && item.parentElement !== list) { item = item.parentElement; }
+                return {url: el.href, text: (item.innerText || item.textContent || '').trim()};
+            });
+            """;
+
+    /** Marks the current document as left behind, so it is not mistaken for the next page. */
+    private static final String NAVIGATE_SCRIPT = """
+            window.__insiderTabPending = true;
+            window.location.href = arguments[0];
+            """;
+
+    /**
+     * Returns null while the page is loading or an element the checks need is missing,
+     * unless forced after the timeout.
+     */
+    private static final String SNAPSHOT_SCRIPT = ElementLocator.RESOLVER + """
+            var specs = arguments[0], force = arguments[1];
+            if (!force && (window.__insiderTabPending || document.readyState !== 'complete')) { return null; }
+            var texts = {}, missing = false;
+            specs.forEach(function (spec) {
+                var el = findFirst(spec[1], spec[2]);
+                texts[spec[0]] = el ? (el.innerText || el.textContent || '').trim() : null;
+                missing = missing || !el;
+            });
+            if (missing && !force) { return null; }
+            return {url: location.href, title: document.title, texts: texts};
+            """;
+
+    private final WebDriver driver;
+    private final JavascriptExecutor js;
+    private final WindowContexts windows;
+    private final LocatorRegistry locatorRegistry;
+    private final int size;
+    private final Duration pageTimeout;
+
+    /**
+     * @param driver The session to open the tabs in.
+     * @param size Number of tabs, i.e. pages in flight.
+     * @param pageTimeout How long a page may take to load and render the checked elements.
+     */
+    public TabPool(WebDriver driver, int size, Duration pageTimeout) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Tab pool size must be at least 1: " + size);
+        }
+        this.driver = driver;
+        this.js = (JavascriptExecutor) driver;
+        this.windows = WindowContexts.of(driver);
+        this.locatorRegistry = LocatorRegistry.getInstance();
+        this.size = size;
+        this.pageTimeout = pageTimeout;
+    }
+
+    /**
+     * Reads the links of a list in one script call.
+     * @param locator Locator matching the link of every list item.
+     * @return The links in document order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ListLink> collectLinks(Locator locator) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) js.executeScript(
+                LINKS_SCRIPT, locator.type(), locator.value());
+        List<ListLink> links = new ArrayList<>(raw.size());
+        for (Map<String, Object> link : raw) {
+            links.add(new ListLink(links.size() + 1, (String) link.get("url"), (String) link.get("text")));
+        }
+        return links;
+    }
+
+    /**
+     * Opens every link and runs the checks on the page it leads to. Returns on the tab
+     * that was current when it was called.
+     * @param elementName The locator name of the links, for the result.
+     * @param links The links to open.
+     * @param checks The checks every page must pass.
+     * @return Counters and failing pages.
+     */
+    public LinkedPagesResult verify(String elementName, List<ListLink> links, Collection<PageCheck> checks) {
+        long start = System.nanoTime();
+        String origin = driver.getWindowHandle();
+        List<List<String>> specs = elementSpecs(checks);
+        AtomicLong checked = new AtomicLong();
+        Queue<LinkedPagesResult.PageFailure> failures = new ConcurrentLinkedQueue<>();
+        Semaphore pendingChecks = new Semaphore(size);
+        ExecutorService checkers = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "tab-pool-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Iterator<ListLink> pending = links.iterator();
+        List<Tab> tabs = new ArrayList<>(size);
+        try {
+            while (tabs.size() < size && pending.hasNext()) {
+                Tab tab = new Tab(windows.openDetached());
+                tabs.add(tab);
+                load(tab, pending.next());
+            }
+            while (!tabs.isEmpty()) {
+                boolean progressed = false;
+                for (Iterator<Tab> it = tabs.iterator(); it.hasNext(); ) {
+                    Tab tab = it.next();
+                    windows.activate(tab.handle);
+                    boolean timedOut = System.nanoTime() - tab.loadStarted > pageTimeout.toNanos();
+                    PageSnapshot page = snapshot(specs, timedOut);
+                    if (page == null) {
+                        continue;
+                    }
+                    progressed = true;
+                    ListLink link = tab.link;
+                    if (timedOut) {
+                        failures.add(new LinkedPagesResult.PageFailure(link, page.url(),
+                                List.of("not ready within " + pageTimeout.toMillis() + "ms")));
+                        EventLog.error("verifyLinkedPages.timeout", "Page #%d %s not ready within %dms",
+                                link.index(), link.url(), pageTimeout.toMillis());
+                    } else {
+                        pendingChecks.acquireUninterruptibly();
+                        checkers.execute(() -> {
+                            try {
+                                check(link, page, checks, failures);
+                                checked.incrementAndGet();
+                            } finally {
+                                pendingChecks.release();
+                            }
+                        });
+                    }
+                    if (pending.hasNext()) {
+                        load(tab, pending.next());
+                    } else {
+                        windows.closeDetached(tab.handle);
+                        it.remove();
+                    }
+                }
+                if (!progressed) {
+                    pause();
+                }
+            }
+        } finally {
+            for (Tab tab : tabs) {
+                try {
+                    windows.closeDetached(tab.handle);
+                } catch (RuntimeException e) {
+                    EventLog.warn("verifyLinkedPages.close", "Could not close tab %s: %s", tab.handle, e.getMessage());
+                }
+            }
+            windows.activate(origin);
+            checkers.shutdown();
+            awaitChecks(checkers);
+        }
+
+        List<LinkedPagesResult.PageFailure> sorted = new ArrayList<>(failures);
+        sorted.sort(Comparator.comparingInt(failure -> failure.link().index()));
+        return new LinkedPagesResult(elementName, links.size(), checked.get(), List.copyOf(sorted),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void load(Tab tab, ListLink link) {
+        tab.link = link;
+        tab.loadStarted = System.nanoTime();
+        js.executeScript(NAVIGATE_SCRIPT, link.url());
+    }
+
+    @SuppressWarnings("unchecked")
+    private PageSnapshot snapshot(List<List<String>> specs, boolean force) {
+        Map<String, Object> raw = (Map<String, Object>) js.executeScript(SNAPSHOT_SCRIPT, specs, force);
+        if (raw == null) {
+            return null;
+        }
+        Map<String, String> texts = new LinkedHashMap<>();
+        ((Map<String, Object>) raw.get("texts")).forEach((name, text) -> texts.put(name, (String) text));
+        return new PageSnapshot(String.valueOf(raw.get("url")), String.valueOf(raw.get("title")), texts);
+    }
+
+    private static void check(ListLink link, PageSnapshot page, Collection<PageCheck> checks,
+                              Queue<LinkedPagesResult.PageFailure> failures) {
+        List<String> failed = checks.stream().filter(check -> !check.test(link, page)).map(PageCheck::name).toList();
+        if (failed.isEmpty()) {
+            EventLog.debug("verifyLinkedPages.passed", "Page #%d %s passed: %s", link.index(), page.url(), page.title());
+            return;
+        }
+        failures.add(new LinkedPagesResult.PageFailure(link, page.url(), failed));
+        EventLog.error("verifyLinkedPages.failed", "Page #%d %s failed %s (title: %s)",
+                link.index(), page.url(), String.join(", ", failed), page.title());
+    }
+
+    private List<List<String>> elementSpecs(Collection<PageCheck> checks) {
+        Map<String, List<String>> specs = new LinkedHashMap<>();
+        for (PageCheck check : checks) {
+            if (check.elementName() != null && !specs.containsKey(check.elementName())) {
+                Locator locator = locatorRegistry.get(check.elementName());
+                specs.put(check.elementName(), List.of(check.elementName(), locator.type(), locator.value()));
+            }
+        }
+        return List.copyOf(specs.values());
+    }
+
+    private void awaitChecks(ExecutorService checkers) {
+        try {
+            if (!checkers.awaitTermination(pageTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                EventLog.warn("verifyLinkedPages.checks", "Page checks still running after %dms", pageTimeout.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void pause() {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sleep interrupted", e);
+        } finally {
+            ActionMetrics.recordSleep(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * A link of a list.
+     * @param index Position in the list, starting at 1.
+     * @param url The link target.
+     * @param itemText Text of the list item the link belongs to.
+     */
+    public record ListLink(int index, String url, String itemText) {
+
+        /**
+         * @return The first line of the item text, typically its title.
+         */
+        public String itemTitle() {
+            return itemText.lines().map(String::trim).filter(line -> !line.isEmpty()).findFirst().orElse("");
+        }
+    }
+
+    /**
+     * What the checks see of a loaded page.
+     * @param url The URL the page ended up on.
+     * @param title The document title.
+     * @param texts Text of each element the checks asked for, null for a missing element.
+     */
+    public record PageSnapshot(String url, String title, Map<String, String> texts) {
+    }
+
+    private static final class Tab {
+        private final String handle;
+        private ListLink link;
+        private long loadStarted;
+
+        private Tab(String handle) {
+            this.handle = handle;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.insider.helper;
+
+import java.util.regex.Pattern;
+
+/**
+ * Text condition evaluated locally against text pulled from the page.
+ */
+public final class TextMatcher {
+    private enum Mode { CONTAINS, EQUALS, REGEX }
+
+    private final Mode mode;
+    private final String expected;
+    private final Pattern pattern;
+
+    private TextMatcher(Mode mode, String expected) {
+        this.mode = mode;
+        this.expected = expected;
+        this.pattern = mode == Mode.REGEX ? Pattern.compile(expected) : null;
+    }
+
+    public static TextMatcher contains(String expected) {
+        return new TextMatcher(Mode.CONTAINS, expected);
+    }
+
+    public static TextMatcher equalTo(String expected) {
+        return new TextMatcher(Mode.EQUALS, expected);
+    }
+
+    /**
+     * @param regex Pattern that must be found somewhere in the text.
+     */
+    public static TextMatcher regex(String regex) {
+        return new TextMatcher(Mode.REGEX, regex);
+    }
+
+    public boolean matches(String actualText) {
+        return switch (mode) {
+            case CONTAINS -> actualText.contains(expected);
+            case EQUALS -> actualText.equals(expected);
+            case REGEX -> pattern.matcher(actualText).find();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return switch (mode) {
+            case CONTAINS -> "contains '" + expected + "'";
+            case EQUALS -> "equals '" + expected + "'";
+            case REGEX -> "matches /" + expected + "/";
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.insider.helper;
+
+import java.util.List;
+
+/**
+ * Per-row outcome of checking the text of every element matched by a locator.
+ * @param elementName The locator name that was checked.
+ * @param matcher The condition every visible row had to satisfy.
+ * @param rows One entry per matched element, in document order.
+ */
+public record TextVerificationResult(String elementName, TextMatcher matcher, List<Row> rows) {
+
+    /**
+     * @return True if there is at least one visible row and every visible row matched.
+     */
+    public boolean allMatched() {
+        return visibleCount() > 0 && failures().isEmpty();
+    }
+
+    public long visibleCount() {
+        return rows.stream().filter(Row::visible).count();
+    }
+
+    /**
+     * @return Visible rows whose text does not satisfy the matcher.
+     */
+    public List<Row> failures() {
+        return rows.stream().filter(row -> row.visible() && !row.matched()).toList();
+    }
+
+    /**
+     * @param index One-based position among the matched elements.
+     * @param text Trimmed innerText, or textContent for elements that are not rendered.
+     * @param visible Whether the element is rendered; hidden rows are reported but not evaluated.
+     * @param matched Whether the text satisfies the matcher.
+     */
+    public record Row(int index, String text, boolean visible, boolean matched) {
+    }
+}
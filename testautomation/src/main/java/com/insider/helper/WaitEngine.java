@@ -0,0 +1,455 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import com.insider.config.RunConfig;
+import com.insider.metrics.ActionMetrics;
+import com.insider.metrics.FlightRecorder;
+
+/**
+ * Waits that return as soon as the page reaches the expected state instead of sleeping
+ * for a fixed time. Each wait runs as one asynchronous script in the page, is capped by
+ * an upper bound and reports how long it actually took.
+ */
+public class WaitEngine {
+    /**
+     * Counts in-flight fetch and XHR requests in {@code window.__insiderNetwork}. Installed
+     * on new documents by {@link com.insider.manager.DriverManager}, or lazily by
+     * {@link #waitForNetworkIdle(Duration, Duration)} on pages loaded without it.
+     */
+    public static final String NETWORK_TRACKER_SCRIPT = """
+            (function () {
+                if (window.__insiderNetwork) { return; }
+                var state = window.__insiderNetwork = {pending: 0, lastChange: performance.now()};
+                function change(delta) { state.pending = Math.max(0, state.pending + delta); state.lastChange = performance.now(); }
+                if (window.fetch) {
+                    var originalFetch = window.fetch;
+                    window.fetch = function () {
+                        change(1);
+                        return originalFetch.apply(this, arguments).finally(function () { change(-1); });
+                    };
+                }
+                var originalSend = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.send = function () {
+                    change(1);
+                    this.addEventListener('loadend', function () { change(-1); }, {once: true});
+                    return originalSend.apply(this, arguments);
+                };
+            })();
+            """;
+
+    /**
+     * Only nodes being added or removed and text changes count as mutations. Attribute
+     * changes are ignored, because a carousel or an animation changes them continuously
+     * and the page would never settle.
+     */
+    private static final String DOM_QUIET_SCRIPT = """
+            var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];
+            var quietTimer, limitTimer, observer;
+            function finish(ok) {
+                clearTimeout(quietTimer); clearTimeout(limitTimer); observer.disconnect(); done(ok);
+            }
+            observer = new MutationObserver(function () {
+                clearTimeout(quietTimer);
+                quietTimer = setTimeout(function () { finish(true); }, quietMs);
+            });
+            observer.observe(document.documentElement || document,
+                {childList: true, subtree: true, characterData: true});
+            quietTimer = setTimeout(function () { finish(true); }, quietMs);
+            limitTimer = setTimeout(function () { finish(false); }, timeoutMs);
+            """;
+
+    private static final String FRAME_STABLE_SCRIPT = """
+            var el = arguments[0], stableFrames = arguments[1], timeoutMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var start = performance.now(), last = null, stable = 0;
+            function snapshot() {
+                var parts = [window.scrollX, window.scrollY];
+                if (el) {
+                    if (!el.isConnected) { return 'detached'; }
+                    var r = el.getBoundingClientRect(), s = window.getComputedStyle(el);
+                    parts.push(r.x, r.y, r.width, r.height, s.transform, s.opacity, el.className);
+                }
+                return parts.join('|');
+            }
+            function tick() {
+                var current = snapshot();
+                stable = current === last ? stable + 1 : 0;
+                last = current;
+                if (stable >= stableFrames || current === 'detached') { done(true); return; }
+                if (performance.now() - start > timeoutMs) { done(false); return; }
+                requestAnimationFrame(tick);
+            }
+            requestAnimationFrame(tick);
+            """;
+
+    private static final String NETWORK_IDLE_SCRIPT = NETWORK_TRACKER_SCRIPT + """
+            var idleMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];
+            var start = performance.now(), state = window.__insiderNetwork;
+            (function check() {
+                var now = performance.now();
+                if (state.pending === 0 && now - state.lastChange >= idleMs) { done(true); return; }
+                if (now - start > timeoutMs) { done(false); return; }
+                setTimeout(check, Math.min(50, idleMs));
+            })();
+            """;
+
+    /**
+     * Resolves the locator, or takes the given element, and checks presence, visibility,
+     * enabled state, that nothing covers the element's centre and that its box did not
+     * move since the previous check. A given element that left the document is reported
+     * as stale. The cover check depends on the {@link Overlap} mode: -1 waits it out, 0 skips
+     * it and a positive grace returns once the element stayed covered that long. Checks run
+     * on the next frames first and then back off up to 250 ms between tries.
+     */
+    private static final String INTERACTABLE_SCRIPT = ElementLocator.RESOLVER + """
+            var type = arguments[0], value = arguments[1], timeoutMs = arguments[2], given = arguments[3];
+            var coverGraceMs = arguments[4], done = arguments[arguments.length - 1];
+            var start = performance.now(), last = null, checks = 0, delay = 0, scrolled = false, coveredSince = null;
+            function describe(el) {
+                return el.tagName.toLowerCase() + (el.id ? '#' + el.id : '')
+                    + (typeof el.className === 'string' && el.className ? '.' + el.className.trim().split(/\\s+/).join('.') : '');
+            }
+            function check() {
+                checks++;
+                if (given && !given.isConnected) { return {state: 'stale'}; }
+                var el = given || findFirst(type, value);
+                if (!el) { return {state: 'missing'}; }
+                if (!isVisible(el)) { return {element: el, state: 'hidden'}; }
+                if (el.disabled || el.getAttribute('aria-disabled') === 'true') { return {element: el, state: 'disabled'}; }
+                var r = el.getBoundingClientRect();
+                var x = r.left + r.width / 2, y = r.top + r.height / 2;
+                if (x < 0 || y < 0 || x >= window.innerWidth || y >= window.innerHeight) {
+                    if (!scrolled) {
+                        el.scrollIntoView({behavior: 'instant', block: 'center', inline: 'nearest'});
+                        scrolled = true;
+                    }
+                    last = null;
+                    return {element: el, state: 'offscreen'};
+                }
+                var hit = coverGraceMs === 0 ? null : document.elementFromPoint(x, y);
+                if (hit && hit !== el && !el.contains(hit)) {
+                    coveredSince = coveredSince === null ? performance.now() : coveredSince;
+                    return {element: el, state: 'covered', blocker: describe(hit)};
+                }
+                coveredSince = null;
+                var box = [r.x, r.y, r.width, r.height].join('|');
+                var stable = box === last;
+                last = box;
+                return {element: el, state: stable ? 'ready' : 'moving'};
+            }
+            (function poll() {
+                var result = check();
+                result.checks = checks;
+                if (result.state === 'ready' || result.state === 'stale') { done(result); return; }
+                if (result.state === 'covered' && coverGraceMs > 0 && performance.now() - coveredSince >= coverGraceMs) {
+                    done(result); return;
+                }
+                if (performance.now() - start > timeoutMs) { done(result); return; }
+                if (checks < 4) { requestAnimationFrame(poll); return; }
+                delay = Math.min(250, Math.max(16, delay * 2));
+                setTimeout(poll, delay);
+            })();
+            """;
+
+    private static final String VISIBLE_SCRIPT = ElementLocator.RESOLVER + """
+            var type = arguments[0], value = arguments[1], timeoutMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var start = performance.now(), delay = 0, checks = 0;
+            (function poll() {
+                var el = findFirst(type, value);
+                if (el && isVisible(el)) { done(true); return; }
+                if (performance.now() - start > timeoutMs) { done(false); return; }
+                if (++checks < 4) { requestAnimationFrame(poll); return; }
+                delay = Math.min(250, Math.max(16, delay * 2));
+                setTimeout(poll, delay);
+            })();
+            """;
+
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+    /** How long {@link Overlap#FALLBACK} waits for a covering element to go away. */
+    private static final Duration COVER_GRACE = Duration.ofMillis(500);
+
+    private final WebDriver driver;
+    private final JavascriptExecutor js;
+    private final Duration defaultTimeout;
+    private final NetworkMonitor network;
+    private Duration scriptTimeout;
+
+    public WaitEngine(WebDriver driver) {
+        this(driver, RunConfig.get().waitTimeout());
+    }
+
+    /**
+     * @param driver The session to wait on.
+     * @param defaultTimeout Upper bound for waits that do not pass their own.
+     */
+    public WaitEngine(WebDriver driver, Duration defaultTimeout) {
+        this.driver = driver;
+        this.js = (JavascriptExecutor) driver;
+        this.defaultTimeout = defaultTimeout;
+        this.network = NetworkMonitor.of(driver);
+        ensureScriptTimeout(defaultTimeout);
+    }
+
+    /**
+     * Waits until no node has been added, removed or changed its text for the quiet period.
+     * @param quietPeriod How long the DOM must stay unchanged.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForDomQuiescence(Duration quietPeriod, Duration timeout) {
+        return runAsync("dom-quiescence", DOM_QUIET_SCRIPT, quietPeriod.toMillis(), bound(timeout));
+    }
+
+    public WaitResult waitForDomQuiescence() {
+        return waitForDomQuiescence(RunConfig.get().domQuietPeriod(), defaultTimeout);
+    }
+
+    /**
+     * Waits until the window scroll position stops changing, e.g. after a smooth scroll.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForScrollEnd(Duration timeout) {
+        return runAsync("scroll-end", FRAME_STABLE_SCRIPT, null, 3, bound(timeout));
+    }
+
+    public WaitResult waitForScrollEnd() {
+        return waitForScrollEnd(defaultTimeout);
+    }
+
+    /**
+     * Waits until the element's box, transform, opacity and classes stay the same for a
+     * few consecutive animation frames, i.e. transitions and animations have settled.
+     * @param element The element to watch.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForElementStable(WebElement element, Duration timeout) {
+        return runAsync("element-stable", FRAME_STABLE_SCRIPT, element, 3, bound(timeout));
+    }
+
+    public WaitResult waitForElementStable(WebElement element) {
+        return waitForElementStable(element, defaultTimeout);
+    }
+
+    /**
+     * Waits until no request has started or finished for the idle period. On the tab the
+     * session's DevTools connection is attached to, the {@link NetworkMonitor} covers every
+     * request; other tabs and sessions without DevTools fall back to the in-page tracker,
+     * which only sees fetch and XHR.
+     * @param idlePeriod How long the network must stay idle.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForNetworkIdle(Duration idlePeriod, Duration timeout) {
+        if (network != null && network.monitors(driver.getWindowHandle())) {
+            return waitFor("network-idle", timeout, d -> network.isIdle(idlePeriod, 0));
+        }
+        return runAsync("network-idle", NETWORK_IDLE_SCRIPT, idlePeriod.toMillis(), bound(timeout));
+    }
+
+    public WaitResult waitForNetworkIdle() {
+        return waitForNetworkIdle(Duration.ofMillis(500), defaultTimeout);
+    }
+
+    /**
+     * Waits until the document has been parsed, i.e. DOMContentLoaded has fired.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForDomContentLoaded(Duration timeout) {
+        return waitFor("dom-content-loaded", timeout,
+                d -> !"loading".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+    }
+
+    /**
+     * Waits until the locator matches a visible element, checked in the page.
+     * @param locator The locator of the element.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForVisible(Locator locator, Duration timeout) {
+        return runAsync("visible:" + locator.name(), VISIBLE_SCRIPT, locator.type(), locator.value(), bound(timeout));
+    }
+
+    /**
+     * Waits until {@code document.readyState} is complete.
+     * @param timeout Upper bound for the wait.
+     */
+    public WaitResult waitForDocumentReady(Duration timeout) {
+        return waitFor("document-ready", timeout,
+                d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+    }
+
+    public WaitResult waitForDocumentReady() {
+        return waitForDocumentReady(defaultTimeout);
+    }
+
+    /**
+     * Waits until the element matched by the locator can be clicked: it is present,
+     * visible, enabled, not covered by another element and not moving. All checks run in
+     * the page, so a ready element costs one round trip.
+     * @param locator The locator of the element.
+     * @param timeout Upper bound for the wait.
+     */
+    public Interactability waitForInteractable(Locator locator, Duration timeout) {
+        return waitForInteractable(locator, null, timeout, Overlap.WAIT);
+    }
+
+    /**
+     * Like {@link #waitForInteractable(Locator, Duration)}, but checks an element that was
+     * already resolved instead of looking it up. Returns at once with state {@code stale}
+     * if the element is no longer in the document.
+     * @param locator The locator of the element.
+     * @param element The resolved element, or null to resolve the locator.
+     * @param timeout Upper bound for the wait.
+     * @param overlap How an element covered by another one is treated.
+     */
+    @SuppressWarnings("unchecked")
+    public Interactability waitForInteractable(Locator locator, WebElement element, Duration timeout,
+                                               Overlap overlap) {
+        FlightRecorder.WaitEvent event = FlightRecorder.beginWait();
+        long start = System.nanoTime();
+        long coverGrace = switch (overlap) {
+            case WAIT -> -1;
+            case FALLBACK -> COVER_GRACE.toMillis();
+            case IGNORE -> 0;
+        };
+        Map<String, Object> result = (Map<String, Object>) js.executeAsyncScript(
+                INTERACTABLE_SCRIPT, locator.type(), locator.value(), bound(timeout), element, coverGrace);
+        String state = String.valueOf(result.get("state"));
+        boolean usable = "ready".equals(state) || ("covered".equals(state) && overlap == Overlap.FALLBACK);
+        WaitResult waited = record(event, new WaitResult("interactable", usable,
+                Duration.ofNanos(System.nanoTime() - start)));
+        return new Interactability((WebElement) result.get("element"), state,
+                (String) result.get("blocker"), waited);
+    }
+
+    public Interactability waitForInteractable(Locator locator) {
+        return waitForInteractable(locator, defaultTimeout);
+    }
+
+    /**
+     * Polls a WebDriver-side condition for state the page cannot signal by itself,
+     * such as the number of open windows.
+     * @param name Name reported in the result.
+     * @param timeout Upper bound for the wait.
+     * @param condition The condition to poll.
+     */
+    public WaitResult waitFor(String name, Duration timeout, Function<WebDriver, Boolean> condition) {
+        FlightRecorder.WaitEvent event = FlightRecorder.beginWait();
+        long start = System.nanoTime();
+        boolean satisfied;
+        try {
+            new FluentWait<>(driver)
+                    .withTimeout(timeout)
+                    .pollingEvery(Duration.ofMillis(100))
+                    .until(condition);
+            satisfied = true;
+        } catch (TimeoutException e) {
+            satisfied = false;
+        }
+        return record(event, new WaitResult(name, satisfied, Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Keeps the driver's async script timeout above the requested bound so the in-page
+     * timer, not the driver, ends a wait.
+     */
+    private long bound(Duration timeout) {
+        ensureScriptTimeout(timeout);
+        return timeout.toMillis();
+    }
+
+    private void ensureScriptTimeout(Duration timeout) {
+        Duration required = timeout.plus(SCRIPT_TIMEOUT_MARGIN);
+        if (scriptTimeout == null || scriptTimeout.compareTo(required) < 0) {
+            driver.manage().timeouts().scriptTimeout(required);
+            scriptTimeout = required;
+        }
+    }
+
+    private WaitResult runAsync(String name, String script, Object... args) {
+        FlightRecorder.WaitEvent event = FlightRecorder.beginWait();
+        long start = System.nanoTime();
+        Object result = js.executeAsyncScript(script, args);
+        return record(event, new WaitResult(name, Boolean.TRUE.equals(result), Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    private static WaitResult record(FlightRecorder.WaitEvent event, WaitResult result) {
+        ActionMetrics.recordWait(result.elapsed().toNanos());
+        FlightRecorder.endWait(event, result.condition(), result.satisfied(), result.elapsed().toNanos());
+        return result;
+    }
+
+    /**
+     * How {@link #waitForInteractable(Locator, WebElement, Duration, Overlap)} treats an
+     * element whose centre is covered by another element, e.g. a sticky header or a chat widget.
+     */
+    public enum Overlap {
+        /** Wait until nothing covers the element, for actions that go through the pointer. */
+        WAIT,
+        /**
+         * Wait briefly for the cover to go away, then hand the element over as covered so
+         * the click strategies can fall back to one that does not need the pointer.
+         */
+        FALLBACK,
+        /** Skip the cover check, for actions that do not go through the pointer. */
+        IGNORE
+    }
+
+    /**
+     * Outcome of {@link #waitForInteractable(Locator, Duration)}.
+     * @param element The matched element, or null when nothing matched.
+     * @param state {@code ready}, or the last reason it was not: {@code missing},
+     *              {@code hidden}, {@code disabled}, {@code offscreen}, {@code covered},
+     *              {@code moving} or {@code stale} for a given element that left the document.
+     * @param blocker The element covering the target when the state is {@code covered}.
+     * @param result Timing of the wait.
+     */
+    public record Interactability(WebElement element, String state, String blocker, WaitResult result) {
+
+        /**
+         * @return True if the element can be acted on; with {@link Overlap#FALLBACK} that
+         *         includes an element that stayed covered.
+         */
+        public boolean ready() {
+            return result.satisfied();
+        }
+
+        public boolean stale() {
+            return "stale".equals(state);
+        }
+
+        public boolean covered() {
+            return "covered".equals(state);
+        }
+
+        @Override
+        public String toString() {
+            return covered() ? state + " by " + blocker : state;
+        }
+    }
+
+    /**
+     * Outcome of a wait.
+     * @param condition Name of the condition that was awaited.
+     * @param satisfied False when the upper bound was reached first.
+     * @param elapsed How long the wait actually took, including the round trip.
+     */
+    public record WaitResult(String condition, boolean satisfied, Duration elapsed) {
+
+        @Override
+        public String toString() {
+            return String.format("%s %s after %dms", condition, satisfied ? "met" : "timed out", elapsed.toMillis());
+        }
+    }
+}
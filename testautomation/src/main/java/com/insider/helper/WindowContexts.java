@@ -0,0 +1,295 @@
+package com.insider.helper;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Tracks the tabs of a session as a stack: the tab the session started in at the bottom,
+ * tabs switched to on top. New tabs are reported by the DevTools {@code Target.targetCreated}
+ * event, so checking for one costs no WebDriver command and switching happens as soon as
+ * the tab exists. Sessions without DevTools fall back to comparing window handles.
+ * {@link #closeStale()} closes everything but the first tab, so tabs do not pile up over
+ * a run. Every switch drops the session's cached element handles, see {@link ElementCache}.
+ */
+public final class WindowContexts {
+    private static final Duration HANDLE_POLL = Duration.ofMillis(50);
+    private static final Map<WebDriver, WindowContexts> contexts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+    /** Target IDs of tabs opened since they were last consumed. */
+    private final BlockingQueue<String> opened = new LinkedBlockingQueue<>();
+    /** Handles of the tabs this manager knows are open; read by the DevTools listener. */
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+    /** Held while the listener matches a new target against {@link #known} and while a detached tab is registered. */
+    private final Object targetLock = new Object();
+    private final Deque<String> stack = new ArrayDeque<>();
+    private final boolean eventDriven;
+    private volatile Consumer<WebDriver> tabSetup = tab -> { };
+
+    private WindowContexts(WebDriver driver) {
+        this.driver = driver;
+        known.addAll(driver.getWindowHandles());
+        stack.push(driver.getWindowHandle());
+        this.eventDriven = subscribe();
+    }
+
+    /**
+     * @param driver The session.
+     * @return The window contexts of the session, created on first use.
+     */
+    public static WindowContexts of(WebDriver driver) {
+        synchronized (contexts) {
+            return contexts.computeIfAbsent(driver, WindowContexts::new);
+        }
+    }
+
+    /**
+     * Sets what a new tab needs before it is used, applied right after the session switched
+     * to it. Browser settings sent over CDP, such as request blocking, only reach the tab
+     * that was current when they were sent.
+     * @param setup Configures the session's current tab.
+     */
+    public void onNewTab(Consumer<WebDriver> setup) {
+        this.tabSetup = setup;
+    }
+
+    /**
+     * @return Whether a tab was opened that has not been switched to yet.
+     */
+    public boolean hasOpened() {
+        if (eventDriven) {
+            return !opened.isEmpty();
+        }
+        return !known.containsAll(driver.getWindowHandles());
+    }
+
+    /**
+     * Switches to the next newly opened tab and pushes it on the stack.
+     * @param timeout How long to wait for a tab to open.
+     * @return The handle switched to, or null if no tab opened in time.
+     */
+    public String switchToOpened(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String handle = eventDriven ? nextOpened(deadline) : nextUnknownHandle(deadline);
+        if (handle == null) {
+            return null;
+        }
+        known.add(handle);
+        stack.push(handle);
+        driver.switchTo().window(handle);
+        setUpTab(handle);
+        ElementCache.of(driver).invalidateAll();
+        return handle;
+    }
+
+    /**
+     * Closes the current tab and returns to the one below it on the stack.
+     * @return False if the current tab is the first one, which is never closed.
+     */
+    public boolean closeCurrent() {
+        if (stack.size() < 2) {
+            return false;
+        }
+        String current = stack.pop();
+        driver.switchTo().window(current);
+        driver.close();
+        known.remove(current);
+        driver.switchTo().window(stack.peek());
+        ElementCache.of(driver).invalidateAll();
+        return true;
+    }
+
+    /**
+     * Closes every tab except the first and switches back to it. Costs no WebDriver
+     * command when no tab was opened.
+     * @return The number of tabs closed.
+     */
+    public int closeStale() {
+        if (eventDriven && stack.size() == 1 && opened.isEmpty()) {
+            return 0;
+        }
+        Set<String> handles = driver.getWindowHandles();
+        String root = stack.peekLast();
+        if (!handles.contains(root)) {
+            root = handles.iterator().next();
+        }
+        int closed = 0;
+        for (String handle : handles) {
+            if (!handle.equals(root)) {
+                driver.switchTo().window(handle);
+                driver.close();
+                closed++;
+            }
+        }
+        driver.switchTo().window(root);
+        ElementCache.of(driver).invalidateAll();
+        stack.clear();
+        stack.push(root);
+        known.clear();
+        known.add(root);
+        opened.clear();
+        return closed;
+    }
+
+    /**
+     * Opens a blank tab for a caller that manages it itself, e.g. {@link TabPool}. The tab
+     * is not reported by {@link #hasOpened()} and not pushed on the stack; the session is
+     * left on the new tab.
+     * @return The handle of the new tab.
+     */
+    public String openDetached() {
+        String handle = driver.switchTo().newWindow(WindowType.TAB).getWindowHandle();
+        synchronized (targetLock) {
+            known.add(handle);
+            opened.removeIf(targetId -> isHandleOf(handle, targetId));
+        }
+        setUpTab(handle);
+        ElementCache.of(driver).invalidateAll();
+        return handle;
+    }
+
+    /**
+     * Switches to a tab without changing the stack.
+     * @param handle A detached tab, or a tab on the stack.
+     */
+    public void activate(String handle) {
+        driver.switchTo().window(handle);
+        ElementCache.of(driver).invalidateAll();
+    }
+
+    /**
+     * Closes a tab opened with {@link #openDetached()} and returns to the top of the stack.
+     */
+    public void closeDetached(String handle) {
+        driver.switchTo().window(handle);
+        driver.close();
+        known.remove(handle);
+        activate(stack.peek());
+    }
+
+    public int depth() {
+        return stack.size();
+    }
+
+    private void setUpTab(String handle) {
+        try {
+            tabSetup.accept(driver);
+        } catch (RuntimeException e) {
+            EventLog.warn("windowContexts.tabSetup", "Could not set up tab %s: %s", handle, e.getMessage());
+        }
+    }
+
+    private boolean subscribe() {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            return false;
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Event<Map<String, Object>> event = new Event<>("Target.targetCreated", input -> input.read(Json.MAP_TYPE));
+            devTools.addListener(event, params -> {
+                Object info = params.get("targetInfo");
+                if (info instanceof Map<?, ?> target && "page".equals(target.get("type"))) {
+                    String targetId = String.valueOf(target.get("targetId"));
+                    synchronized (targetLock) {
+                        if (known.stream().noneMatch(handle -> isHandleOf(handle, targetId))) {
+                            opened.offer(targetId);
+                        }
+                    }
+                }
+            });
+            devTools.send(new Command<>("Target.setDiscoverTargets", Map.of("discover", true)));
+            return true;
+        } catch (RuntimeException e) {
+            EventLog.warn("windowContexts.unavailable", "Tab events unavailable, comparing window handles instead: %s",
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private String nextOpened(long deadline) {
+        try {
+            while (true) {
+                String targetId = opened.poll(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+                if (targetId == null) {
+                    return null;
+                }
+                String handle = awaitHandle(targetId, deadline);
+                if (handle != null && !known.contains(handle)) {
+                    return handle;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * The driver may list a new tab's handle slightly after the browser reported it.
+     */
+    private String awaitHandle(String targetId, long deadline) throws InterruptedException {
+        while (true) {
+            for (String handle : driver.getWindowHandles()) {
+                if (isHandleOf(handle, targetId)) {
+                    return handle;
+                }
+            }
+            if (remainingMillis(deadline) == 0) {
+                return null;
+            }
+            Thread.sleep(HANDLE_POLL.toMillis());
+        }
+    }
+
+    private String nextUnknownHandle(long deadline) {
+        try {
+            while (true) {
+                for (String handle : driver.getWindowHandles()) {
+                    if (!known.contains(handle)) {
+                        return handle;
+                    }
+                }
+                if (remainingMillis(deadline) == 0) {
+                    return null;
+                }
+                Thread.sleep(HANDLE_POLL.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * ChromeDriver uses the target ID as window handle, older versions with a prefix.
+     */
+    private static boolean isHandleOf(String handle, String targetId) {
+        return handle.equalsIgnoreCase(targetId) || handle.toUpperCase(Locale.ROOT).endsWith(targetId.toUpperCase(Locale.ROOT));
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.insider.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes log events on a single background thread: human-readable lines to the console
+ * and JSON lines to a file. Each drained batch goes to the console in one write per
+ * stream, so lines of parallel tests no longer interleave mid-line and test threads never
+ * wait on the console lock. When the queue is full, loggers block until there is room
+ * rather than dropping events.
+ */
+public final class AsyncAppender {
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final int BATCH_SIZE = 256;
+
+    private final BlockingQueue<LogEvent> queue;
+    private final Path file;
+    private final AtomicLong pending = new AtomicLong();
+    private final Object idle = new Object();
+    private BufferedWriter fileWriter;
+    private boolean fileFailed;
+
+    /**
+     * @param file JSON lines file, truncated on first write; null logs to the console only.
+     * @param queueSize Events that may wait for the writer before loggers block.
+     */
+    public AsyncAppender(Path file, int queueSize) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        Thread worker = new Thread(this::drain, "event-log");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(10)), "event-log-flush"));
+    }
+
+    void append(LogEvent event) {
+        pending.incrementAndGet();
+        if (queue.offer(event)) {
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done(1);
+        }
+    }
+
+    /**
+     * Blocks until every queued event has been written.
+     * @param timeout Upper bound for the wait.
+     * @return False if events were still pending when the timeout expired.
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    idle.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public long pendingCount() {
+        return pending.get();
+    }
+
+    private void drain() {
+        List<LogEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                System.err.printf("✗ Failed to write %d log events: %s%n", batch.size(), e.getMessage());
+            } finally {
+                done(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<LogEvent> batch) {
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        StringBuilder json = file == null ? null : new StringBuilder();
+        for (LogEvent event : batch) {
+            StringBuilder console = event.level().compareTo(Level.WARN) >= 0 ? err : out;
+            console.append(TIME.format(Instant.ofEpochMilli(event.epochMillis()))).append(' ');
+            if (!"-".equals(event.test())) {
+                console.append('[').append(event.test()).append(' ').append(event.correlationId()).append("] ");
+            }
+            console.append(event.level().marker()).append(' ').append(event.message()).append(System.lineSeparator());
+            if (json != null) {
+                json.append(event.toJson()).append('\n');
+            }
+        }
+        if (!out.isEmpty()) {
+            System.out.print(out);
+            System.out.flush();
+        }
+        if (!err.isEmpty()) {
+            System.err.print(err);
+            System.err.flush();
+        }
+        if (json != null) {
+            writeFile(json);
+        }
+    }
+
+    private void writeFile(CharSequence lines) {
+        if (fileFailed) {
+            return;
+        }
+        try {
+            if (fileWriter == null) {
+                Path directory = file.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                fileWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            fileWriter.append(lines);
+            fileWriter.flush();
+        } catch (IOException e) {
+            fileFailed = true;
+            System.err.printf("✗ Failed to write log file %s, logging to the console only: %s%n", file, e.getMessage());
+        }
+    }
+
+    private void done(int count) {
+        if (pending.addAndGet(-count) == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+}
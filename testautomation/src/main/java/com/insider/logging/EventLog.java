@@ -0,0 +1,98 @@
+package com.insider.logging;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Structured logging for the framework. Every event has a stable name, a level and a
+ * {@link String#format} message, and carries the test and correlation ID of the calling
+ * thread. Events below {@code -Dlog.level} (default {@code INFO}, {@code OFF} for none) are
+ * dropped before their message is formatted; the rest are formatted and written by the
+ * {@link AsyncAppender},
+ * to the console and as JSON lines to {@code -Dlog.file}
+ * (default {@code test-output/logs/events.jsonl}, {@code none} for console only).
+ */
+public final class EventLog {
+    private static final Level THRESHOLD =
+            Level.valueOf(System.getProperty("log.level", "INFO").toUpperCase(Locale.ROOT));
+    private static final ThreadLocal<Context> context = new ThreadLocal<>();
+
+    private static final class Holder {
+        private static final AsyncAppender APPENDER = new AsyncAppender(logFile(),
+                Integer.getInteger("log.queueSize", 8192));
+
+        private static Path logFile() {
+            String file = System.getProperty("log.file", "test-output/logs/events.jsonl");
+            return file.isBlank() || file.equalsIgnoreCase("none") ? null : Paths.get(file);
+        }
+    }
+
+    private EventLog() {
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(THRESHOLD) >= 0;
+    }
+
+    public static void debug(String event, String format, Object... args) {
+        log(Level.DEBUG, event, format, args);
+    }
+
+    public static void info(String event, String format, Object... args) {
+        log(Level.INFO, event, format, args);
+    }
+
+    public static void warn(String event, String format, Object... args) {
+        log(Level.WARN, event, format, args);
+    }
+
+    public static void error(String event, String format, Object... args) {
+        log(Level.ERROR, event, format, args);
+    }
+
+    /**
+     * @param level The severity; nothing happens below the configured level.
+     * @param event Stable machine-readable name, e.g. {@code click.succeeded}.
+     * @param format Message pattern, formatted on the appender thread.
+     * @param args Pattern arguments; pass values, not objects that change later.
+     */
+    public static void log(Level level, String event, String format, Object... args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Context current = context.get();
+        Holder.APPENDER.append(new LogEvent(System.currentTimeMillis(), level, event, format, args,
+                current == null ? "-" : current.test(), current == null ? "-" : current.correlationId(),
+                Thread.currentThread().getName()));
+    }
+
+    /**
+     * Attributes events on the calling thread to a test under a new correlation ID.
+     * @param test Identifier such as {@code ClassName#method}, or null to clear it.
+     * @return The correlation ID, or null when cleared.
+     */
+    public static String setCurrentTest(String test) {
+        if (test == null) {
+            context.remove();
+            return null;
+        }
+        String correlationId = String.format("%08x", ThreadLocalRandom.current().nextInt());
+        context.set(new Context(test, correlationId));
+        return correlationId;
+    }
+
+    /**
+     * Blocks until every logged event has been written.
+     * @param timeout Upper bound for the wait.
+     * @return False if events were still pending when the timeout expired.
+     */
+    public static boolean flush(Duration timeout) {
+        return Holder.APPENDER.flush(timeout);
+    }
+
+    private record Context(String test, String correlationId) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.insider.logging;
+
+/**
+ * Severity of a log event, lowest first. Each level has the marker the console has
+ * always used for it.
+ */
+public enum Level {
+    DEBUG("-"),
+    INFO("✓"),
+    WARN("⚠️"),
+    ERROR("✗"),
+    /** Only used as {@code -Dlog.level}, to turn logging off. */
+    OFF("");
+
+    private final String marker;
+
+    Level(String marker) {
+        this.marker = marker;
+    }
+
+    public String marker() {
+        return marker;
+    }
+}
@@ -0,0 +1,49 @@
+package com.insider.logging;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * One log event as handed to the {@link AsyncAppender}. The message is kept as format
+ * and arguments and only formatted on the appender thread.
+ * @param epochMillis When the event was logged.
+ * @param level The severity.
+ * @param event Stable machine-readable name, e.g. {@code click.succeeded}.
+ * @param format {@link String#format} pattern of the human-readable message.
+ * @param args Arguments of the pattern; must not change after logging.
+ * @param test The test the event belongs to, "-" if none.
+ * @param correlationId Identifier shared by all events of one test run, "-" if none.
+ * @param thread Name of the logging thread.
+ */
+public record LogEvent(long epochMillis, Level level, String event, String format, Object[] args,
+                       String test, String correlationId, String thread) {
+
+    public String message() {
+        try {
+            return args.length == 0 ? format : String.format(Locale.ROOT, format, args);
+        } catch (IllegalFormatException e) {
+            return format + " " + Arrays.toString(args);
+        }
+    }
+
+    JSONObject toJson() {
+        JSONArray values = new JSONArray();
+        for (Object arg : args) {
+            values.put(arg instanceof Number || arg instanceof Boolean ? arg : String.valueOf(arg));
+        }
+        return new JSONObject()
+                .put("time", Instant.ofEpochMilli(epochMillis).toString())
+                .put("level", level.name())
+                .put("event", event)
+                .put("message", message())
+                .put("args", values)
+                .put("test", test)
+                .put("correlationId", correlationId)
+                .put("thread", thread);
+    }
+}
@@ -0,0 +1,96 @@
+package com.insider.manager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import com.insider.config.RunConfig;
+
+/**
+ * Browser configurations a session can be started with. The run-wide default is the
+ * {@code browser.profile} of the {@link RunConfig}, {@code full} or {@code lean}; a test class can ask for a specific one with
+ * {@link UseBrowserProfile}.
+ */
+public enum BrowserProfile {
+    /**
+     * A visible, maximized browser that loads every resource, as a user would see the page.
+     */
+    FULL,
+
+    /**
+     * Headless browser with a fixed viewport that returns from navigation at
+     * DOMContentLoaded and skips images, fonts, media, analytics and chat widgets.
+     */
+    LEAN;
+
+    /** URL patterns blocked in {@link #LEAN}; extend with {@code -Dbrowser.blockedUrls}. */
+    private static final List<String> BLOCKED_URLS = List.of(
+            "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+            "*.mp4", "*.webm", "*.mp3", "*.ogg",
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+            "*facebook.net*", "*connect.facebook.com*", "*hotjar.com*", "*clarity.ms*",
+            "*linkedin.com/px*", "*snap.licdn.com*", "*intercom.io*", "*intercomcdn.com*",
+            "*drift.com*", "*driftt.com*", "*zendesk.com*", "*zdassets.com*", "*hubspot.com*",
+            "*youtube.com/embed*", "*vimeo.com*");
+
+    public static BrowserProfile configured() {
+        return valueOf(RunConfig.get().browserProfile().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @param diskCacheDir Directory for the browser's HTTP disk cache, kept across sessions.
+     */
+    ChromeOptions options(Path diskCacheDir) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-notifications");
+        if (this == LEAN) {
+            RunConfig config = RunConfig.get();
+            if (config.headless()) {
+                options.addArguments("--headless=new");
+            }
+            options.addArguments("--window-size=" + config.windowSize(),
+                    "--disk-cache-dir=" + diskCacheDir.toAbsolutePath());
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        return options;
+    }
+
+    /**
+     * Applies the settings that need a running session.
+     */
+    void configure(ChromeDriver driver) {
+        if (this == FULL) {
+            driver.manage().window().maximize();
+            return;
+        }
+        configureTab(driver);
+    }
+
+    /**
+     * Applies the settings the browser keeps per tab to the session's current tab.
+     */
+    void configureTab(ChromeDriver driver) {
+        if (this == LEAN) {
+            driver.executeCdpCommand("Network.enable", Map.of());
+            driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls()));
+        }
+    }
+
+    private static List<String> blockedUrls() {
+        List<String> urls = new ArrayList<>(BLOCKED_URLS);
+        String extra = System.getProperty("browser.blockedUrls", "");
+        Arrays.stream(extra.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .forEach(urls::add);
+        return urls;
+    }
+}
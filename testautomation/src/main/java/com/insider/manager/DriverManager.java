@@ -1,25 +1,172 @@
 package com.insider.manager;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 
+import com.insider.config.RunConfig;
+import com.insider.helper.WaitEngine;
+import com.insider.helper.WindowContexts;
+import com.insider.metrics.CommandCountingListener;
+
+/**
+ * Hands out one isolated WebDriver session per worker thread so test classes
+ * can run in parallel without sharing a browser. Sessions come from a warm
+ * {@link DriverPool} and go back to it when the thread releases them; there is
+ * one pool per {@link BrowserProfile} in use, and all pools share one bound on
+ * live browsers.
+ */
 public class DriverManager {
-    private static WebDriver driver;
+    private static final ThreadLocal<Binding> driver = new ThreadLocal<>();
+    private static final Map<BrowserProfile, DriverPool> pools = new ConcurrentHashMap<>();
+    private static final SessionBudget sessions = new SessionBudget(RunConfig.get().effectiveDriverPoolSize());
+    private static final BrowserProfile defaultProfile = BrowserProfile.configured();
+    private static final Path diskCacheRoot = Paths.get(System.getProperty("browser.cacheDir", "target/browser-cache"));
+    private static final Queue<Path> freeDiskCacheDirs = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger diskCacheDirs = new AtomicInteger();
+
+    static {
+        pool(defaultProfile).warmUp(Integer.getInteger("driverPool.warm", 1));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> pools.forEach((profile, driverPool) -> {
+            System.out.printf("✓ Driver pool (%s): %s%n", profile.name().toLowerCase(Locale.ROOT), driverPool.stats());
+            driverPool.shutdown();
+        }), "driver-pool-shutdown"));
+    }
+
+    private DriverManager() {
+    }
 
+    private static DriverPool pool(BrowserProfile profile) {
+        return pools.computeIfAbsent(profile, DriverManager::createPool);
+    }
+
+    private static DriverPool createPool(BrowserProfile profile) {
+        int maxUses = Integer.getInteger("driverPool.maxUses", 10);
+        long leaseTimeout = Long.getLong("driverPool.leaseTimeoutMillis", 120_000L);
+        return new DriverPool(() -> createDriver(profile), sessions, maxUses, leaseTimeout);
+    }
+
+    private static WebDriver createDriver(BrowserProfile profile) {
+        Path diskCacheDir = acquireDiskCacheDir();
+        ChromeDriver created;
+        try {
+            created = new ChromeDriver(profile.options(diskCacheDir));
+        } catch (RuntimeException e) {
+            freeDiskCacheDirs.offer(diskCacheDir);
+            throw e;
+        }
+        installNetworkTracker(created);
+        HttpCache.getInstance().attach(created);
+        profile.configure(created);
+        WebDriverListener releaseDiskCache = new WebDriverListener() {
+            @Override
+            public void afterQuit(WebDriver quit) {
+                freeDiskCacheDirs.offer(diskCacheDir);
+            }
+        };
+        WebDriver decorated = new EventFiringDecorator<WebDriver>(new CommandCountingListener(), releaseDiskCache)
+                .decorate(created);
+        WindowContexts.of(decorated).onNewTab(tab -> {
+            installNetworkTracker(created);
+            profile.configureTab(created);
+        });
+        return decorated;
+    }
+
+    /**
+     * CDP commands of ChromeDriver go to the current tab, so every new tab needs its own.
+     */
+    private static void installNetworkTracker(ChromeDriver created) {
+        created.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", WaitEngine.NETWORK_TRACKER_SCRIPT));
+    }
+
+    /**
+     * Each live browser gets its own disk cache directory; directories are handed on to
+     * later sessions so cached resources survive browser restarts.
+     */
+    private static Path acquireDiskCacheDir() {
+        Path dir = freeDiskCacheDirs.poll();
+        return dir != null ? dir : diskCacheRoot.resolve("session-" + diskCacheDirs.incrementAndGet());
+    }
+
+    /**
+     * Returns the session bound to the calling thread, leasing one with the run-wide
+     * default profile if needed.
+     * @return The WebDriver owned by the current thread.
+     */
     public static WebDriver getDriver() {
-        if (driver == null) {
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--disable-notifications");
-            driver = new ChromeDriver(options);
-            driver.manage().window().maximize();
+        return getDriver(defaultProfile);
+    }
+
+    /**
+     * Returns the session bound to the calling thread, leasing one with the given profile
+     * if needed. A session already bound to the thread is returned as is.
+     * @param profile Profile for a newly leased session.
+     * @return The WebDriver owned by the current thread.
+     */
+    public static WebDriver getDriver(BrowserProfile profile) {
+        Binding current = driver.get();
+        if (current == null) {
+            DriverPool driverPool = pool(profile);
+            current = new Binding(driverPool.lease(), driverPool);
+            driver.set(current);
+        }
+        return current.driver();
+    }
+
+    /**
+     * @return The profile used when a test does not ask for one.
+     */
+    public static BrowserProfile getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    /**
+     * Returns the calling thread's session to the pool so another test class can reuse it.
+     */
+    public static void releaseDriver() {
+        Binding current = driver.get();
+        if (current != null) {
+            try {
+                current.pool().release(current.driver());
+            } finally {
+                driver.remove();
+            }
         }
-        return driver;
     }
 
+    /**
+     * Quits the session bound to the calling thread instead of returning it to the pool.
+     */
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        Binding current = driver.get();
+        if (current != null) {
+            try {
+                current.pool().discard(current.driver());
+            } finally {
+                driver.remove();
+            }
         }
     }
+
+    /**
+     * @return Current hit/miss and startup counters of the default profile's session pool.
+     */
+    public static DriverPool.Stats getPoolStats() {
+        return pool(defaultProfile).stats();
+    }
+
+    private record Binding(WebDriver driver, DriverPool pool) {
+    }
 }
@@ -0,0 +1,312 @@
+package com.insider.manager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Bounded pool of warm WebDriver sessions. Sessions are leased per test class,
+ * reset between leases and recycled after a fixed number of uses, so most
+ * classes skip the browser startup cost. Pools can share one {@link SessionBudget}
+ * so their sessions count against a common bound.
+ */
+public class DriverPool {
+    private static final long WARM_POLL_MILLIS = 200;
+
+    private final Supplier<WebDriver> factory;
+    private final SessionBudget budget;
+    private final int maxUses;
+    private final long leaseTimeoutMillis;
+
+    private final BlockingQueue<PooledSession> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final Set<PooledSession> all = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger warming = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong unhealthy = new AtomicLong();
+    private final AtomicLong starts = new AtomicLong();
+    private final AtomicLong startupNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * @param factory Starts a new browser session.
+     * @param capacity Maximum number of live sessions, idle or leased.
+     * @param maxUses Number of leases after which a session is quit instead of reused.
+     * @param leaseTimeoutMillis How long a lease may block while the pool is exhausted.
+     */
+    public DriverPool(Supplier<WebDriver> factory, int capacity, int maxUses, long leaseTimeoutMillis) {
+        this(factory, new SessionBudget(capacity), maxUses, leaseTimeoutMillis);
+    }
+
+    /**
+     * @param budget Bound on live sessions, shared with other pools.
+     */
+    DriverPool(Supplier<WebDriver> factory, SessionBudget budget, int maxUses, long leaseTimeoutMillis) {
+        this.factory = factory;
+        this.budget = budget;
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        budget.register(this);
+    }
+
+    /**
+     * Starts up to {@code count} sessions in the background so the first leases find them ready.
+     * @param count Number of sessions to pre-start.
+     */
+    public void warmUp(int count) {
+        for (int i = 0; i < count && reserveSlot(); i++) {
+            warming.incrementAndGet();
+            Thread warmer = new Thread(() -> {
+                try {
+                    idle.offer(start());
+                } catch (RuntimeException e) {
+                    budget.free();
+                    System.err.printf("✗ Failed to pre-start browser session: %s%n", e.getMessage());
+                } finally {
+                    warming.decrementAndGet();
+                }
+            }, "driver-pool-warmup-" + i);
+            warmer.setDaemon(true);
+            warmer.start();
+        }
+    }
+
+    /**
+     * Leases a healthy session, reusing an idle one when possible.
+     * @return A session reserved for the caller until {@link #release(WebDriver)}.
+     */
+    public WebDriver lease() {
+        long deadline = System.currentTimeMillis() + leaseTimeoutMillis;
+        while (!closed) {
+            PooledSession session = idle.poll();
+            if (session == null && warming.get() > 0) {
+                session = pollIdle(WARM_POLL_MILLIS);
+            }
+            if (session != null) {
+                if (isHealthy(session)) {
+                    hits.incrementAndGet();
+                    return checkOut(session);
+                }
+                unhealthy.incrementAndGet();
+                destroy(session);
+                continue;
+            }
+            if (warming.get() > 0) {
+                continue;
+            }
+            if (reserveSlot()) {
+                try {
+                    PooledSession started = start();
+                    misses.incrementAndGet();
+                    return checkOut(started);
+                } catch (RuntimeException e) {
+                    budget.free();
+                    throw e;
+                }
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Timed out waiting for a free browser session; pool capacity is " + budget.capacity());
+            }
+            // Bounded so slots freed by pools sharing the budget are noticed.
+            session = pollIdle(Math.min(remaining, WARM_POLL_MILLIS));
+            if (session != null) {
+                idle.offer(session);
+            }
+        }
+        throw new IllegalStateException("Driver pool is closed");
+    }
+
+    /**
+     * Returns a leased session. It is reset and kept for the next lease, or quit once it
+     * is worn out or the reset fails.
+     * @param driver The session obtained from {@link #lease()}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            return;
+        }
+        if (closed || session.uses >= maxUses) {
+            recycled.incrementAndGet();
+            destroy(session);
+            return;
+        }
+        if (!reset(session.driver)) {
+            unhealthy.incrementAndGet();
+            destroy(session);
+            return;
+        }
+        idle.offer(session);
+    }
+
+    /**
+     * Quits a leased session instead of returning it, freeing its slot.
+     * @param driver The session obtained from {@link #lease()}.
+     */
+    public void discard(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session != null) {
+            destroy(session);
+        }
+    }
+
+    /**
+     * Quits every session the pool still owns.
+     */
+    public void shutdown() {
+        closed = true;
+        List<PooledSession> sessions = new ArrayList<>(all);
+        sessions.forEach(this::destroy);
+        idle.clear();
+        leased.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), recycled.get(), unhealthy.get(),
+                starts.get(), startupNanos.get());
+    }
+
+    /**
+     * Quits one idle session to give its slot to another pool sharing the budget.
+     * @return Whether a session was quit.
+     */
+    boolean quitIdle() {
+        PooledSession session = idle.poll();
+        if (session == null) {
+            return false;
+        }
+        destroy(session);
+        return true;
+    }
+
+    private boolean reserveSlot() {
+        return budget.tryReserve() || (budget.reclaimFor(this) && budget.tryReserve());
+    }
+
+    private PooledSession pollIdle(long millis) {
+        try {
+            return idle.poll(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+
+    private PooledSession start() {
+        long begin = System.nanoTime();
+        WebDriver driver = factory.get();
+        startupNanos.addAndGet(System.nanoTime() - begin);
+        starts.incrementAndGet();
+        PooledSession session = new PooledSession(driver);
+        all.add(session);
+        return session;
+    }
+
+    private WebDriver checkOut(PooledSession session) {
+        session.uses++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    private void destroy(PooledSession session) {
+        if (!all.remove(session)) {
+            return;
+        }
+        budget.free();
+        try {
+            session.driver.quit();
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Brings a session back to a blank state: one window, no cookies, empty storage.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String keep = handles.get(0);
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(keep);
+
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Snapshot of the pool counters.
+     * @param hits Leases served by an already running session.
+     * @param misses Leases that had to start a new session on the calling thread.
+     * @param recycled Sessions quit after reaching the use limit.
+     * @param unhealthy Sessions dropped because a health check or reset failed.
+     * @param starts Browser sessions started in total, including warm-up.
+     * @param startupNanos Total time spent starting browsers.
+     */
+    public record Stats(long hits, long misses, long recycled, long unhealthy, long starts, long startupNanos) {
+
+        public long averageStartupMillis() {
+            return starts == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(startupNanos / starts);
+        }
+
+        /**
+         * Estimates startup time saved: every hit would otherwise have started a browser.
+         */
+        public long estimatedSavedMillis() {
+            return hits * averageStartupMillis();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, recycled=%d, unhealthy=%d, avgStartup=%dms, saved~%dms",
+                    hits, misses, recycled, unhealthy, averageStartupMillis(), estimatedSavedMillis());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.insider.manager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Record/replay cache for every request the browser makes, selected with
+ * {@code -DhttpCache.mode}:
+ * <ul>
+ *     <li>{@code off} (default): the browser talks to the network directly.</li>
+ *     <li>{@code record}: responses are fetched and stored on disk.</li>
+ *     <li>{@code replay}: responses are served from disk only; misses get a 504 and never
+ *     reach the network.</li>
+ *     <li>{@code auto}: replay hits, record misses.</li>
+ * </ul>
+ *
+ * <p>Requests are intercepted inside the browser through CDP rather than an external
+ * proxy, so HTTPS needs no certificate setup. Bodies are stored once per content hash in
+ * {@code blobs/}; {@code index.tsv} maps each request to its status, headers and body hash.
+ */
+public final class HttpCache {
+    public enum Mode { OFF, RECORD, REPLAY, AUTO }
+
+    /** Response headers worth replaying; length and encoding no longer match the decoded body. */
+    private static final Set<String> STORED_HEADERS = Set.of(
+            "content-type", "location", "cache-control", "access-control-allow-origin",
+            "access-control-allow-credentials");
+
+    private final Mode mode;
+    private final Path directory;
+    private final Path index;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+
+    private static final class Holder {
+        private static final HttpCache INSTANCE = new HttpCache(
+                Mode.valueOf(System.getProperty("httpCache.mode", "off").toUpperCase(Locale.ROOT)),
+                Paths.get(System.getProperty("httpCache.dir", "test-output/http-cache")));
+    }
+
+    public static HttpCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public HttpCache(Mode mode, Path directory) {
+        this.mode = mode;
+        this.directory = directory;
+        this.index = directory.resolve("index.tsv");
+        if (mode != Mode.OFF) {
+            load();
+            if (mode != Mode.REPLAY) {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::compact, "http-cache-compact"));
+            }
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Routes all requests of the session through the cache.
+     * @param driver A session that supports DevTools.
+     * @return The interceptor, or null when the cache is off.
+     */
+    public NetworkInterceptor attach(WebDriver driver) {
+        if (mode == Mode.OFF) {
+            return null;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            throw new IllegalStateException("HTTP cache needs a DevTools capable driver, got " + driver.getClass());
+        }
+        Filter filter = next -> request -> {
+            String key = key(request);
+            Entry cached = entries.get(key);
+            if (cached != null && mode != Mode.RECORD) {
+                hits.incrementAndGet();
+                return cached.toResponse(directory);
+            }
+            if (mode == Mode.REPLAY) {
+                misses.incrementAndGet();
+                return new HttpResponse()
+                        .setStatus(504)
+                        .setHeader("Content-Type", "text/plain")
+                        .setContent(Contents.utf8String("Not in HTTP cache: " + key));
+            }
+            misses.incrementAndGet();
+            HttpResponse response = next.execute(request);
+            return store(key, response);
+        };
+        return new NetworkInterceptor(driver, filter);
+    }
+
+    public String stats() {
+        return String.format("mode=%s, entries=%d, hits=%d, misses=%d, recorded=%d",
+                mode.name().toLowerCase(Locale.ROOT), entries.size(), hits.get(), misses.get(), recorded.get());
+    }
+
+    private HttpResponse store(String key, HttpResponse response) {
+        byte[] body = Contents.bytes(response.getContent());
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.forEachHeader((name, value) -> {
+            if (STORED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, value);
+            }
+        });
+        String hash = sha256(body);
+        try {
+            Path blob = directory.resolve("blobs").resolve(hash);
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                Path temp = Files.createTempFile(blob.getParent(), hash, ".tmp");
+                Files.write(temp, body);
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Entry entry = new Entry(response.getStatus(), hash, headers);
+            entries.put(key, entry);
+            appendToIndex(key, entry);
+            recorded.incrementAndGet();
+        } catch (IOException e) {
+            EventLog.error("httpCache.recordFailed", "Failed to record %s: %s", key, e.getMessage());
+        }
+        response.setContent(Contents.bytes(body));
+        return response;
+    }
+
+    private synchronized void appendToIndex(String key, Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        try (BufferedWriter writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(entry.toLine(key));
+            writer.newLine();
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(index)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", 4);
+                if (parts.length == 4) {
+                    entries.put(parts[0], Entry.fromLine(parts));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read HTTP cache index " + index, e);
+        }
+    }
+
+    /**
+     * Rewrites the index with one line per request, dropping entries superseded by
+     * later recordings.
+     */
+    private synchronized void compact() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> lines.add(entry.toLine(key)));
+        try {
+            Path temp = Files.createTempFile(directory, "index", ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            EventLog.info("httpCache.stats", "HTTP cache: %s", stats());
+        } catch (IOException e) {
+            EventLog.error("httpCache.compactFailed", "Failed to compact HTTP cache index: %s", e.getMessage());
+        }
+        // Runs as a shutdown hook, possibly after the log's own final flush.
+        EventLog.flush(Duration.ofSeconds(5));
+    }
+
+    private static String key(HttpRequest request) {
+        String key = request.getMethod() + " " + request.getUri();
+        if (!"GET".equals(request.getMethod().toString())) {
+            byte[] body = Contents.bytes(request.getContent());
+            if (body.length > 0) {
+                key += " #" + sha256(body).substring(0, 16);
+            }
+        }
+        return key;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(int status, String hash, Map<String, String> headers) {
+
+        String toLine(String key) {
+            return key + "\t" + status + "\t" + hash + "\t" + new JSONObject(headers);
+        }
+
+        static Entry fromLine(String[] parts) {
+            JSONObject json = new JSONObject(parts[3]);
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : json.keySet()) {
+                headers.put(name, json.getString(name));
+            }
+            return new Entry(Integer.parseInt(parts[1]), parts[2], headers);
+        }
+
+        HttpResponse toResponse(Path directory) {
+            HttpResponse response = new HttpResponse().setStatus(status);
+            headers.forEach(response::setHeader);
+            try {
+                response.setContent(Contents.bytes(Files.readAllBytes(directory.resolve("blobs").resolve(hash))));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Missing HTTP cache blob " + hash, e);
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.insider.manager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bound on live browser sessions shared by several {@link DriverPool}s, so pools for
+ * different profiles together never run more browsers than the run allows.
+ */
+final class SessionBudget {
+    private final int capacity;
+    private final AtomicInteger live = new AtomicInteger();
+    private final Set<DriverPool> pools = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param capacity Maximum number of live sessions across all pools.
+     */
+    SessionBudget(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void register(DriverPool pool) {
+        pools.add(pool);
+    }
+
+    /**
+     * @return Whether a slot was taken; it must be given back with {@link #free()}.
+     */
+    boolean tryReserve() {
+        while (true) {
+            int current = live.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (live.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void free() {
+        live.decrementAndGet();
+    }
+
+    /**
+     * Quits an idle session of another pool so the requester can start one. Idle sessions
+     * of one profile would otherwise hold slots another profile is waiting for.
+     * @return Whether a slot was freed.
+     */
+    boolean reclaimFor(DriverPool requester) {
+        for (DriverPool pool : pools) {
+            if (pool != requester && pool.quitIdle()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,239 @@
+package com.insider.manager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import com.insider.logging.EventLog;
+
+/**
+ * Keeps the browser state a session has after the one-time warm-up (cookie consent and
+ * the like) so later sessions can start with it instead of repeating that navigation.
+ * Cookies and the site's local and session storage are captured once and written to
+ * {@code test-output/.cache/session-state.json} ({@code -DsessionState.file}). A snapshot
+ * expires after {@code -DsessionState.ttlMinutes} (default 60); {@code -DsessionState.refresh=true}
+ * discards it at startup and {@code -DsessionState.enabled=false} turns the cache off.
+ */
+public final class SessionStateCache {
+    /** CDP {@code Network.CookieParam} fields; the rest of a captured cookie is read-only. */
+    private static final Set<String> COOKIE_FIELDS = Set.of(
+            "name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires");
+
+    private static final String CAPTURE_STORAGE_SCRIPT = """
+            function dump(storage) {
+                var entries = {};
+                try {
+                    for (var i = 0; i < storage.length; i++) { entries[storage.key(i)] = storage.getItem(storage.key(i)); }
+                } catch (e) {}
+                return entries;
+            }
+            return {origin: location.origin, local: dump(window.localStorage), session: dump(window.sessionStorage)};
+            """;
+
+    private final Path file;
+    private final Duration ttl;
+    private final boolean enabled;
+    /** Storage seeding script installed per session, so a re-leased session gets only one. */
+    private final Map<WebDriver, String> installedScripts = Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile Snapshot snapshot;
+
+    private static final class Holder {
+        private static final SessionStateCache INSTANCE = new SessionStateCache(
+                Paths.get(System.getProperty("sessionState.file", "test-output/.cache/session-state.json")),
+                Duration.ofMinutes(Long.getLong("sessionState.ttlMinutes", 60L)),
+                Boolean.parseBoolean(System.getProperty("sessionState.enabled", "true")),
+                Boolean.getBoolean("sessionState.refresh"));
+    }
+
+    public static SessionStateCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param file Where the snapshot is kept between runs.
+     * @param ttl How long a snapshot stays valid after capture.
+     * @param enabled When false, nothing is restored or captured.
+     * @param refresh Discards an existing snapshot so the next session captures a new one.
+     */
+    public SessionStateCache(Path file, Duration ttl, boolean enabled, boolean refresh) {
+        this.file = file;
+        this.ttl = ttl;
+        this.enabled = enabled;
+        if (refresh) {
+            invalidate();
+        } else if (enabled) {
+            this.snapshot = load();
+        }
+    }
+
+    /**
+     * Loads the cached state into a session before its first navigation: cookies right
+     * away, storage as soon as a document of the captured origin starts loading.
+     * @param driver A fresh or freshly reset session.
+     * @return False when there is no valid snapshot and the caller has to warm up itself.
+     */
+    public boolean restore(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return false;
+        }
+        // A re-leased session still carries the script of its previous lease; drop it even
+        // when there is nothing to restore, or it keeps seeding the storage the reset cleared.
+        String previous = installedScripts.remove(driver);
+        if (previous != null) {
+            cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", previous));
+        }
+        Snapshot current = validSnapshot();
+        if (current == null) {
+            return false;
+        }
+        long now = Instant.now().getEpochSecond();
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Map<String, Object> cookie : current.cookies()) {
+            Object expires = cookie.get("expires");
+            if (expires instanceof Number number && number.doubleValue() > 0 && number.doubleValue() < now) {
+                continue;
+            }
+            cookies.add(cookie);
+        }
+        cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+
+        Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", seedScript(current)));
+        installedScripts.put(driver, String.valueOf(added.get("identifier")));
+        return true;
+    }
+
+    /**
+     * Captures cookies and the current page's storage as the new snapshot.
+     * @param driver A session that has completed the warm-up on the site.
+     */
+    @SuppressWarnings("unchecked")
+    public void capture(WebDriver driver) {
+        if (!enabled || !(driver instanceof HasCdp cdp)) {
+            return;
+        }
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        Object all = cdp.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+        for (Map<String, Object> cookie : (List<Map<String, Object>>) all) {
+            Map<String, Object> param = new LinkedHashMap<>();
+            cookie.forEach((key, value) -> {
+                if (COOKIE_FIELDS.contains(key) && !(key.equals("expires") && ((Number) value).doubleValue() <= 0)) {
+                    param.put(key, value);
+                }
+            });
+            cookies.add(param);
+        }
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE_STORAGE_SCRIPT);
+        Snapshot captured = new Snapshot(Instant.now(), String.valueOf(storage.get("origin")), cookies,
+                (Map<String, Object>) storage.get("local"), (Map<String, Object>) storage.get("session"));
+        snapshot = captured;
+        save(captured);
+    }
+
+    /**
+     * Drops the snapshot from memory and disk; the next session warms up again.
+     */
+    public void invalidate() {
+        snapshot = null;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            EventLog.error("sessionState.deleteFailed", "Failed to delete session state %s: %s", file, e.getMessage());
+        }
+    }
+
+    private Snapshot validSnapshot() {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) {
+            return null;
+        }
+        if (current.capturedAt().plus(ttl).isBefore(Instant.now())) {
+            invalidate();
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Seeds keys that are not set yet, so a page that already changed a value keeps it.
+     */
+    private static String seedScript(Snapshot snapshot) {
+        return "(function () {"
+                + " if (location.origin !== " + JSONObject.quote(snapshot.origin()) + ") { return; }"
+                + " function seed(storage, entries) { try { Object.keys(entries).forEach(function (key) {"
+                + " if (storage.getItem(key) === null) { storage.setItem(key, entries[key]); } }); } catch (e) {} }"
+                + " seed(window.localStorage, " + new JSONObject(snapshot.localStorage()) + ");"
+                + " seed(window.sessionStorage, " + new JSONObject(snapshot.sessionStorage()) + ");"
+                + " })();";
+    }
+
+    private Snapshot load() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+            List<Map<String, Object>> cookies = new ArrayList<>();
+            JSONArray array = json.getJSONArray("cookies");
+            for (int i = 0; i < array.length(); i++) {
+                cookies.add(array.getJSONObject(i).toMap());
+            }
+            return new Snapshot(Instant.parse(json.getString("capturedAt")), json.getString("origin"), cookies,
+                    json.getJSONObject("localStorage").toMap(), json.getJSONObject("sessionStorage").toMap());
+        } catch (IOException | RuntimeException e) {
+            EventLog.warn("sessionState.unreadable", "Ignoring unreadable session state %s: %s", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(Snapshot captured) {
+        JSONObject json = new JSONObject()
+                .put("capturedAt", captured.capturedAt().toString())
+                .put("origin", captured.origin())
+                .put("cookies", new JSONArray(captured.cookies()))
+                .put("localStorage", new JSONObject(captured.localStorage()))
+                .put("sessionStorage", new JSONObject(captured.sessionStorage()));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "session-state", ".tmp");
+            Files.writeString(temp, json.toString(2), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            EventLog.info("sessionState.saved", "Session state saved: %d cookies, %d storage entries",
+                    captured.cookies().size(), captured.localStorage().size() + captured.sessionStorage().size());
+        } catch (IOException e) {
+            EventLog.error("sessionState.saveFailed", "Failed to save session state %s: %s", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Browser state captured after warm-up.
+     * @param capturedAt When the state was captured; used for the expiry.
+     * @param origin Origin whose storage was captured.
+     * @param cookies Cookies as CDP {@code Network.CookieParam} objects.
+     * @param localStorage The origin's localStorage entries.
+     * @param sessionStorage The origin's sessionStorage entries.
+     */
+    private record Snapshot(Instant capturedAt, String origin, List<Map<String, Object>> cookies,
+                            Map<String, Object> localStorage, Map<String, Object> sessionStorage) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.insider.manager;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts the annotated test class on a specific {@link BrowserProfile} regardless of the
+ * run-wide {@code browser.profile}, e.g. to keep visual checks on the full browser.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UseBrowserProfile {
+    BrowserProfile value();
+}
@@ -0,0 +1,109 @@
+package com.insider.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-wide collector of per-action measurements, aggregated per locator and per test.
+ * Everything recorded between {@link #start(String, String)} and closing the returned
+ * scope on the same thread is attributed to that action. An action started inside another
+ * one is reported under its locator but not again in the test totals, which already
+ * include it through the outer action.
+ */
+public final class ActionMetrics {
+    private static final ThreadLocal<Deque<ActionScope>> openScopes = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final Map<String, ActionStats> byLocator = new ConcurrentHashMap<>();
+    private static final Map<String, ActionStats> byTest = new ConcurrentHashMap<>();
+
+    private ActionMetrics() {
+    }
+
+    /**
+     * Starts measuring an action on the calling thread.
+     * @param action The action name, e.g. click.
+     * @param locator The locator name or URL the action works on.
+     * @return The scope to close when the action ends.
+     */
+    public static ActionScope start(String action, String locator) {
+        ActionScope scope = new ActionScope(action, locator == null ? "-" : locator);
+        openScopes.get().push(scope);
+        return scope;
+    }
+
+    public static void recordCommand() {
+        for (ActionScope scope : openScopes.get()) {
+            scope.addCommand();
+        }
+    }
+
+    public static void recordWait(long nanos) {
+        for (ActionScope scope : openScopes.get()) {
+            scope.addWait(nanos);
+        }
+    }
+
+    public static void recordSleep(long nanos) {
+        for (ActionScope scope : openScopes.get()) {
+            scope.addSleep(nanos);
+        }
+    }
+
+    public static void recordRetry() {
+        for (ActionScope scope : openScopes.get()) {
+            scope.addRetry();
+        }
+    }
+
+    /**
+     * Sets the test that actions on the calling thread belong to.
+     * @param testId Identifier such as {@code ClassName#method}, or null to clear it.
+     */
+    public static void setCurrentTest(String testId) {
+        if (testId == null) {
+            currentTest.remove();
+        } else {
+            currentTest.set(testId);
+        }
+    }
+
+    public static String currentTest() {
+        String test = currentTest.get();
+        return test == null ? "-" : test;
+    }
+
+    /**
+     * @return The locator of the innermost open action on the calling thread, or "-".
+     */
+    static String currentLocator() {
+        ActionScope scope = openScopes.get().peek();
+        return scope == null ? "-" : scope.locator();
+    }
+
+    /**
+     * @return Stats keyed by {@code action locator}, sorted by key.
+     */
+    public static Map<String, ActionStats> byLocator() {
+        return Collections.unmodifiableMap(new TreeMap<>(byLocator));
+    }
+
+    /**
+     * @return Stats of the outermost actions keyed by test, sorted by key.
+     */
+    public static Map<String, ActionStats> byTest() {
+        return Collections.unmodifiableMap(new TreeMap<>(byTest));
+    }
+
+    static void finish(ActionScope scope, ActionSample sample) {
+        Deque<ActionScope> scopes = openScopes.get();
+        scopes.remove(scope);
+        byLocator.computeIfAbsent(sample.action() + " " + sample.locator(), key -> new ActionStats()).add(sample);
+        if (scopes.isEmpty()) {
+            byTest.computeIfAbsent(sample.test(), key -> new ActionStats()).add(sample);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.insider.metrics;
+
+/**
+ * Measurements of one completed action.
+ * @param action The ElementHelper method, e.g. click.
+ * @param locator The locator name or URL the action worked on, "-" if none.
+ * @param test The test the action ran in.
+ * @param succeeded Whether the action completed without failing.
+ * @param wallNanos Wall time of the action.
+ * @param commands WebDriver commands issued during the action.
+ * @param waitNanos Time spent in condition waits.
+ * @param sleepNanos Time spent in fixed sleeps.
+ * @param retries Retries, e.g. failed click strategies.
+ */
+public record ActionSample(String action, String locator, String test, boolean succeeded,
+                           long wallNanos, long commands, long waitNanos, long sleepNanos, long retries) {
+}
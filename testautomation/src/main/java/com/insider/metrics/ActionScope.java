@@ -0,0 +1,69 @@
+package com.insider.metrics;
+
+/**
+ * An action being measured. Commands, waits, sleeps and retries recorded on the same
+ * thread are added to every open scope, so nested actions are measured too. Closing the
+ * scope records it, also to the {@link FlightRecorder}; it counts as failed unless
+ * {@link #succeeded()} was called.
+ */
+public final class ActionScope implements AutoCloseable {
+    private final String action;
+    private final String locator;
+    private final long startNanos = System.nanoTime();
+    private final FlightRecorder.ActionEvent event = FlightRecorder.beginAction();
+    private boolean succeeded;
+    private long commands;
+    private long waitNanos;
+    private long sleepNanos;
+    private long retries;
+
+    ActionScope(String action, String locator) {
+        this.action = action;
+        this.locator = locator;
+    }
+
+    /**
+     * Marks the action as successful.
+     */
+    public void succeeded() {
+        succeeded = true;
+    }
+
+    /**
+     * Marks the action successful if the check passed and passes the result through.
+     * @param result The outcome of a check-style action.
+     * @return The same result.
+     */
+    public boolean result(boolean result) {
+        succeeded = result;
+        return result;
+    }
+
+    String locator() {
+        return locator;
+    }
+
+    void addCommand() {
+        commands++;
+    }
+
+    void addWait(long nanos) {
+        waitNanos += nanos;
+    }
+
+    void addSleep(long nanos) {
+        sleepNanos += nanos;
+    }
+
+    void addRetry() {
+        retries++;
+    }
+
+    @Override
+    public void close() {
+        ActionSample sample = new ActionSample(action, locator, ActionMetrics.currentTest(), succeeded,
+                System.nanoTime() - startNanos, commands, waitNanos, sleepNanos, retries);
+        ActionMetrics.finish(this, sample);
+        FlightRecorder.endAction(event, sample);
+    }
+}
@@ -0,0 +1,50 @@
+package com.insider.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated measurements for one locator or one test.
+ */
+public class ActionStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong sleepNanos = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    void add(ActionSample sample) {
+        latency.record(sample.wallNanos());
+        if (!sample.succeeded()) {
+            failures.incrementAndGet();
+        }
+        commands.addAndGet(sample.commands());
+        waitNanos.addAndGet(sample.waitNanos());
+        sleepNanos.addAndGet(sample.sleepNanos());
+        retries.addAndGet(sample.retries());
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    public long commands() {
+        return commands.get();
+    }
+
+    public long waitNanos() {
+        return waitNanos.get();
+    }
+
+    public long sleepNanos() {
+        return sleepNanos.get();
+    }
+
+    public long retries() {
+        return retries.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.insider.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Counts WebDriver commands for {@link ActionMetrics}. Accessors that only return a local
+ * helper object, such as {@code manage()} or {@code switchTo()}, are not counted.
+ */
+public class CommandCountingListener implements WebDriverListener {
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "switchTo", "navigate", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "hashCode", "equals", "toString");
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            ActionMetrics.recordCommand();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.insider.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Records every ElementHelper action, wait and click attempt twice: as a JDK Flight
+ * Recorder event, so slow runs can be profiled with standard JFR tooling, and in a small
+ * per-thread ring buffer of the last {@code flightRecorder.size} (default 50) steps that
+ * is dumped next to the failure screenshot. JFR events cost nothing while no recording
+ * is running; {@code -DflightRecorder.enabled=false} turns the ring buffer off as well,
+ * leaving a single constant check per step.
+ */
+public final class FlightRecorder {
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("flightRecorder.enabled", "true"));
+    private static final int CAPACITY = Math.max(0, Integer.getInteger("flightRecorder.size", 50));
+    private static final ThreadLocal<Ring> recent = ThreadLocal.withInitial(Ring::new);
+
+    private FlightRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static ActionEvent beginAction() {
+        if (!ENABLED) {
+            return null;
+        }
+        ActionEvent event = new ActionEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endAction(ActionEvent event, ActionSample sample) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = sample.action();
+            event.locator = sample.locator();
+            event.test = sample.test();
+            event.succeeded = sample.succeeded();
+            event.commands = sample.commands();
+            event.retries = sample.retries();
+            event.waitTime = sample.waitNanos();
+            event.sleepTime = sample.sleepNanos();
+            event.commit();
+        }
+        add(new Entry(System.currentTimeMillis(), "action", sample.action(), sample.locator(), "-",
+                sample.wallNanos(), sample.succeeded(), sample.test()));
+    }
+
+    /**
+     * Starts timing a wait; pass the result to {@link #endWait}.
+     * @return The started event, or null while the recorder is disabled.
+     */
+    public static WaitEvent beginWait() {
+        if (!ENABLED) {
+            return null;
+        }
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginWait()}.
+     * @param condition The awaited condition, e.g. dom-quiescence.
+     * @param satisfied False when the wait timed out.
+     * @param elapsedNanos How long the wait took.
+     */
+    public static void endWait(WaitEvent event, String condition, boolean satisfied, long elapsedNanos) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        String locator = ActionMetrics.currentLocator();
+        if (event.shouldCommit()) {
+            event.condition = condition;
+            event.locator = locator;
+            event.satisfied = satisfied;
+            event.commit();
+        }
+        add(new Entry(System.currentTimeMillis(), "wait", condition, locator, "-",
+                elapsedNanos, satisfied, ActionMetrics.currentTest()));
+    }
+
+    /**
+     * Starts timing one click strategy; pass the result to {@link #endClick}.
+     * @return The started event, or null while the recorder is disabled.
+     */
+    public static ClickEvent beginClick() {
+        if (!ENABLED) {
+            return null;
+        }
+        ClickEvent event = new ClickEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginClick()}.
+     * @param locator The locator name of the clicked element.
+     * @param strategy The click strategy that was tried.
+     * @param succeeded False when the strategy failed and the next one is retried.
+     * @param elapsedNanos How long the attempt took.
+     */
+    public static void endClick(ClickEvent event, String locator, String strategy, boolean succeeded,
+                                long elapsedNanos) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.locator = locator;
+            event.strategy = strategy;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+        add(new Entry(System.currentTimeMillis(), succeeded ? "click" : "retry", "click", locator, strategy,
+                elapsedNanos, succeeded, ActionMetrics.currentTest()));
+    }
+
+    /**
+     * @return The steps recorded on the calling thread, oldest first.
+     */
+    public static List<Entry> recent() {
+        return recent.get().snapshot();
+    }
+
+    /**
+     * Writes the steps recorded on the calling thread as a plain text table.
+     * @param file Target file; its directory is created if missing.
+     * @return The written file, or null when there was nothing to write.
+     */
+    public static Path dump(Path file) throws IOException {
+        List<Entry> entries = recent();
+        if (entries.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "# Last %d steps, oldest first%n%-24s %-6s %-22s %-28s %-10s %10s %-6s %s%n",
+                entries.size(), "time", "kind", "name", "locator", "strategy", "ms", "result", "test"));
+        for (Entry entry : entries) {
+            text.append(String.format(Locale.ROOT, "%-24s %-6s %-22s %-28s %-10s %10.1f %-6s %s%n",
+                    Instant.ofEpochMilli(entry.epochMillis()), entry.kind(), entry.name(), entry.locator(),
+                    entry.strategy(), entry.durationNanos() / 1_000_000.0, entry.succeeded() ? "ok" : "FAILED",
+                    entry.test()));
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static void add(Entry entry) {
+        if (CAPACITY > 0) {
+            recent.get().add(entry);
+        }
+    }
+
+    /**
+     * One recorded step.
+     * @param epochMillis When the step ended.
+     * @param kind {@code action}, {@code wait}, {@code click} or {@code retry} for a failed click strategy.
+     * @param name The action or wait condition.
+     * @param locator The locator name or URL the step worked on, "-" if none.
+     * @param strategy The click strategy, "-" for other steps.
+     * @param durationNanos How long the step took.
+     * @param succeeded Whether the step succeeded.
+     * @param test The test the step ran in.
+     */
+    public record Entry(long epochMillis, String kind, String name, String locator, String strategy,
+                        long durationNanos, boolean succeeded, String test) {
+    }
+
+    /**
+     * Fixed-size buffer that overwrites its oldest entry; only used by its own thread.
+     */
+    private static final class Ring {
+        private final Entry[] slots = new Entry[CAPACITY];
+        private int next;
+        private int size;
+
+        void add(Entry entry) {
+            slots[next] = entry;
+            next = (next + 1) % slots.length;
+            size = Math.min(size + 1, slots.length);
+        }
+
+        List<Entry> snapshot() {
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(slots[(next - size + i + slots.length) % slots.length]);
+            }
+            return entries;
+        }
+    }
+
+    @Name("com.insider.Action")
+    @Label("UI Action")
+    @Category({"Insider", "Test Automation"})
+    @Description("An ElementHelper action, from lookup to completion")
+    @StackTrace(false)
+    static final class ActionEvent extends Event {
+        @Label("Action")
+        String action;
+        @Label("Locator")
+        String locator;
+        @Label("Test")
+        String test;
+        @Label("Succeeded")
+        boolean succeeded;
+        @Label("WebDriver Commands")
+        long commands;
+        @Label("Retries")
+        long retries;
+        @Label("Wait Time")
+        @Timespan
+        long waitTime;
+        @Label("Sleep Time")
+        @Timespan
+        long sleepTime;
+    }
+
+    @Name("com.insider.Wait")
+    @Label("UI Wait")
+    @Category({"Insider", "Test Automation"})
+    @Description("A WaitEngine wait for a page or element condition")
+    @StackTrace(false)
+    public static final class WaitEvent extends Event {
+        @Label("Condition")
+        String condition;
+        @Label("Locator")
+        String locator;
+        @Label("Satisfied")
+        boolean satisfied;
+    }
+
+    @Name("com.insider.ClickAttempt")
+    @Label("Click Attempt")
+    @Category({"Insider", "Test Automation"})
+    @Description("One click strategy tried on an element; failed attempts are retried with the next strategy")
+    @StackTrace(false)
+    public static final class ClickEvent extends Event {
+        @Label("Locator")
+        String locator;
+        @Label("Strategy")
+        String strategy;
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+}
@@ -0,0 +1,76 @@
+package com.insider.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency samples and reports percentiles and fixed millisecond buckets.
+ * Samples are kept exactly; a run produces at most a few thousand per key.
+ */
+public class LatencyHistogram {
+    /** Upper bounds of the report buckets in milliseconds; the last bucket is open. */
+    public static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private long[] samples = new long[16];
+    private int size;
+
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public synchronized int count() {
+        return size;
+    }
+
+    /**
+     * @param percentile Value between 0 and 100.
+     * @return The nearest-rank percentile in milliseconds, or 0 without samples.
+     */
+    public double percentileMillis(double percentile) {
+        long[] sorted = sortedSnapshot();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return toMillis(sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))]);
+    }
+
+    public double maxMillis() {
+        long[] sorted = sortedSnapshot();
+        return sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]);
+    }
+
+    public double meanMillis() {
+        long[] sorted = sortedSnapshot();
+        return sorted.length == 0 ? 0 : toMillis(Arrays.stream(sorted).sum() / sorted.length);
+    }
+
+    /**
+     * @return Sample counts per bucket of {@link #BUCKET_BOUNDS_MILLIS}, plus one overflow bucket.
+     */
+    public int[] bucketCounts() {
+        int[] counts = new int[BUCKET_BOUNDS_MILLIS.length + 1];
+        for (long sample : sortedSnapshot()) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(sample);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        return counts;
+    }
+
+    private synchronized long[] sortedSnapshot() {
+        long[] copy = Arrays.copyOf(samples, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.insider.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Writes the collected {@link ActionMetrics} as JSON and HTML.
+ */
+public final class PerformanceReport {
+
+    private PerformanceReport() {
+    }
+
+    /**
+     * Writes {@code performance.json} and {@code performance.html} into the directory.
+     * @param directory Output directory, created if missing.
+     * @return The path of the HTML report.
+     */
+    public static Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, ActionStats> byLocator = ActionMetrics.byLocator();
+        Map<String, ActionStats> byTest = ActionMetrics.byTest();
+
+        JSONObject json = new JSONObject()
+                .put("generatedAt", Instant.now().toString())
+                .put("bucketBoundsMillis", new JSONArray(LatencyHistogram.BUCKET_BOUNDS_MILLIS))
+                .put("byLocator", toJson(byLocator))
+                .put("byTest", toJson(byTest));
+        Files.writeString(directory.resolve("performance.json"), json.toString(2), StandardCharsets.UTF_8);
+
+        Path html = directory.resolve("performance.html");
+        Files.writeString(html, toHtml(byLocator, byTest), StandardCharsets.UTF_8);
+        return html;
+    }
+
+    private static JSONArray toJson(Map<String, ActionStats> stats) {
+        JSONArray rows = new JSONArray();
+        stats.forEach((key, value) -> rows.put(new JSONObject()
+                .put("key", key)
+                .put("count", value.latency().count())
+                .put("failures", value.failures())
+                .put("p50Millis", value.latency().percentileMillis(50))
+                .put("p95Millis", value.latency().percentileMillis(95))
+                .put("p99Millis", value.latency().percentileMillis(99))
+                .put("maxMillis", value.latency().maxMillis())
+                .put("meanMillis", value.latency().meanMillis())
+                .put("commands", value.commands())
+                .put("waitMillis", value.waitNanos() / 1_000_000)
+                .put("sleepMillis", value.sleepNanos() / 1_000_000)
+                .put("retries", value.retries())
+                .put("buckets", new JSONArray(value.latency().bucketCounts()))));
+        return rows;
+    }
+
+    private static String toHtml(Map<String, ActionStats> byLocator, Map<String, ActionStats> byTest) {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>Performance report</title>
+                <style>
+                body { font-family: sans-serif; margin: 2em; }
+                table { border-collapse: collapse; margin-bottom: 2em; }
+                th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                .bar { display: inline-block; height: 10px; margin-right: 1px; background: #4a90d9; }
+                </style></head><body>
+                """);
+        html.append("<h1>Performance report</h1><p>Generated ").append(Instant.now()).append("</p>");
+        appendTable(html, "Per locator", byLocator);
+        appendTable(html, "Per test", byTest);
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static void appendTable(StringBuilder html, String title, Map<String, ActionStats> stats) {
+        html.append("<h2>").append(title).append("</h2><table><tr>")
+                .append("<th>Key</th><th>Count</th><th>Failures</th><th>p50 ms</th><th>p95 ms</th>")
+                .append("<th>p99 ms</th><th>Max ms</th><th>Commands</th><th>Wait ms</th><th>Sleep ms</th>")
+                .append("<th>Retries</th><th>Distribution</th></tr>\n");
+        stats.forEach((key, value) -> {
+            LatencyHistogram latency = value.latency();
+            html.append("<tr><td>").append(escape(key)).append("</td>")
+                    .append(cell(latency.count())).append(cell(value.failures()))
+                    .append(cell(latency.percentileMillis(50))).append(cell(latency.percentileMillis(95)))
+                    .append(cell(latency.percentileMillis(99))).append(cell(latency.maxMillis()))
+                    .append(cell(value.commands())).append(cell(value.waitNanos() / 1_000_000))
+                    .append(cell(value.sleepNanos() / 1_000_000)).append(cell(value.retries()))
+                    .append("<td>").append(distribution(latency)).append("</td></tr>\n");
+        });
+        html.append("</table>\n");
+    }
+
+    private static String distribution(LatencyHistogram latency) {
+        int[] buckets = latency.bucketCounts();
+        int total = Math.max(1, latency.count());
+        StringBuilder bars = new StringBuilder();
+        for (int i = 0; i < buckets.length; i++) {
+            String label = i < LatencyHistogram.BUCKET_BOUNDS_MILLIS.length
+                    ? "&lt;" + LatencyHistogram.BUCKET_BOUNDS_MILLIS[i] + "ms"
+                    : "&ge;" + LatencyHistogram.BUCKET_BOUNDS_MILLIS[i - 1] + "ms";
+            bars.append("<span class=\"bar\" title=\"").append(label).append(": ").append(buckets[i])
+                    .append("\" style=\"width:").append(buckets[i] * 60 / total).append("px\"></span>");
+        }
+        return bars.toString();
+    }
+
+    private static String cell(double value) {
+        return String.format(Locale.ROOT, "<td>%.1f</td>", value);
+    }
+
+    private static String cell(long value) {
+        return "<td>" + value + "</td>";
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
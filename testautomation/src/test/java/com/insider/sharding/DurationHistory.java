@@ -0,0 +1,87 @@
+package com.insider.sharding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Past run times of test classes, kept in {@code test-output/.cache/test-durations.properties}
+ * ({@code -Dshard.history}). Commit or cache the file in CI so every shard plans with the
+ * same numbers.
+ */
+final class DurationHistory {
+    /** Weight of the latest run; older runs fade out instead of being dropped at once. */
+    private static final double SMOOTHING = 0.7;
+
+    private DurationHistory() {
+    }
+
+    static Path file() {
+        return Paths.get(System.getProperty("shard.history", "test-output/.cache/test-durations.properties"));
+    }
+
+    /**
+     * @return Milliseconds per fully qualified class name; empty when there is no history yet.
+     */
+    static Map<String, Long> load() {
+        Path file = file();
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            System.err.printf("✗ Ignoring unreadable test duration history %s: %s%n", file, e.getMessage());
+            return durations;
+        }
+        properties.forEach((name, millis) -> {
+            try {
+                durations.put((String) name, Long.parseLong((String) millis));
+            } catch (NumberFormatException ignored) {
+            }
+        });
+        return durations;
+    }
+
+    /**
+     * Merges this JVM's measurements into the file. Forked JVMs finish at different
+     * times, so the read-modify-write runs under a file lock.
+     * @param measured Milliseconds per class measured in this JVM.
+     */
+    static void merge(Map<String, Long> measured) throws IOException {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Path file = file().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Properties properties = new Properties();
+            properties.load(Channels.newInputStream(channel));
+            measured.forEach((name, millis) -> {
+                String previous = properties.getProperty(name);
+                long smoothed = previous == null ? millis
+                        : Math.round(SMOOTHING * millis + (1 - SMOOTHING) * Long.parseLong(previous));
+                properties.setProperty(name, Long.toString(smoothed));
+            });
+            channel.truncate(0);
+            channel.position(0);
+            OutputStream output = Channels.newOutputStream(channel);
+            properties.store(output, "Test class durations in milliseconds, used for shard planning");
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.insider.sharding;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Measures the wall time of every test class, including its {@code @BeforeAll} browser
+ * setup, and adds it to the {@link DurationHistory} when the JVM's test plan finishes.
+ * Registered through {@code META-INF/services}.
+ */
+public class DurationRecorder implements TestExecutionListener {
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        className(identifier).ifPresent(name -> started.put(identifier.getUniqueId(), System.nanoTime()));
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long start = started.remove(identifier.getUniqueId());
+        if (start != null) {
+            className(identifier).ifPresent(name -> measured.merge(name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Long::sum));
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            DurationHistory.merge(measured);
+        } catch (IOException e) {
+            System.err.printf("✗ Failed to update test duration history: %s%n", e.getMessage());
+        }
+        measured.clear();
+    }
+
+    private static Optional<String> className(TestIdentifier identifier) {
+        return identifier.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> ((ClassSource) source).getClassName());
+    }
+}
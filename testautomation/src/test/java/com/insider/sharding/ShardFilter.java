@@ -0,0 +1,115 @@
+package com.insider.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * Keeps only the test classes of one shard when {@code -Dshard.total} is above 1;
+ * {@code -Dshard.index} (0-based) selects the shard. Classes with a recorded duration are
+ * spread with longest-processing-time-first over the shards, so every shard gets about
+ * the same run time. Classes without history are placed by name hash. The plan depends
+ * only on the history file and the class names, so every machine arrives at the same
+ * split without talking to the others. Forks within one machine are not planned here:
+ * Surefire hands them classes itself, ordered by its own {@code runOrder=balanced}
+ * statistics.
+ * Registered through {@code META-INF/services}.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private final int total = Integer.getInteger("shard.total", 1);
+    private final int index = Integer.getInteger("shard.index", 0);
+    private volatile Map<String, Integer> plan;
+
+    public ShardFilter() {
+        if (total > 1 && (index < 0 || index >= total)) {
+            throw new IllegalArgumentException(
+                    String.format("shard.index must be between 0 and %d, got %d", total - 1, index));
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (total <= 1) {
+            return FilterResult.included("sharding disabled");
+        }
+        String className = topLevelClassName(descriptor);
+        if (className == null) {
+            return FilterResult.included("not part of a test class");
+        }
+        int shard = shardOf(className);
+        return shard == index
+                ? FilterResult.included("in shard " + index)
+                : FilterResult.excluded("in shard " + shard + " of " + total);
+    }
+
+    /**
+     * The launcher only asks about leaves and prunes containers left empty, so each test is
+     * placed with its outermost class; nested classes stay with the class enclosing them.
+     */
+    private static String topLevelClassName(TestDescriptor descriptor) {
+        String className = null;
+        for (TestDescriptor current = descriptor; current != null; current = current.getParent().orElse(null)) {
+            className = current.getSource()
+                    .filter(ClassSource.class::isInstance)
+                    .map(source -> ((ClassSource) source).getClassName())
+                    .orElse(className);
+        }
+        return className;
+    }
+
+    private int shardOf(String className) {
+        Integer shard = plan().get(className);
+        return shard != null ? shard : Math.floorMod(className.hashCode(), total);
+    }
+
+    private Map<String, Integer> plan() {
+        Map<String, Integer> current = plan;
+        if (current == null) {
+            Map<String, Long> durations = DurationHistory.load();
+            current = plan(durations, total);
+            plan = current;
+            long classes = 0;
+            long millis = 0;
+            for (Map.Entry<String, Integer> entry : current.entrySet()) {
+                if (entry.getValue() == index) {
+                    classes++;
+                    millis += durations.get(entry.getKey());
+                }
+            }
+            System.out.printf(Locale.ROOT, "✓ Shard %d of %d: %d classes from history, ~%.1fs expected%n",
+                    index, total, classes, millis / 1000.0);
+        }
+        return current;
+    }
+
+    /**
+     * Longest processing time first: classes sorted by duration, each placed on the shard
+     * with the least total so far. Ties break by name and shard number to stay deterministic.
+     */
+    static Map<String, Integer> plan(Map<String, Long> durations, int shards) {
+        List<String> classes = new ArrayList<>(new TreeSet<>(durations.keySet()));
+        classes.sort(Comparator.comparingLong((String name) -> durations.get(name)).reversed());
+        long[] loads = new long[shards];
+        Map<String, Integer> plan = new HashMap<>();
+        for (String name : classes) {
+            int lightest = 0;
+            for (int shard = 1; shard < shards; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += durations.get(name);
+            plan.put(name, lightest);
+        }
+        return plan;
+    }
+}
@@ -1,61 +1,250 @@
 package com.insider.tests;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
 import org.openqa.selenium.WebDriver;
 
+import com.insider.config.RunConfig;
+import com.insider.helper.ArtifactWriter;
 import com.insider.helper.ElementHelper;
+import com.insider.helper.WindowContexts;
+import com.insider.logging.EventLog;
+import com.insider.manager.BrowserProfile;
 import com.insider.manager.DriverManager;
+import com.insider.manager.SessionStateCache;
+import com.insider.manager.UseBrowserProfile;
+import com.insider.metrics.ActionMetrics;
+import com.insider.metrics.FlightRecorder;
+import com.insider.metrics.PerformanceReport;
 
-@ExtendWith(BaseTest.ScreenshotOnFailureExtension.class)
+/**
+ * Base class for UI tests. Each test class owns its own browser session and
+ * helper, so classes can run concurrently; the per-class lifecycle keeps
+ * that state in instance fields instead of statics.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith({BaseTest.LogContextExtension.class, BaseTest.ScreenshotOnFailureExtension.class,
+    BaseTest.PerformanceReportExtension.class})
 public abstract class BaseTest {
-    protected static WebDriver driver;
-    protected static ElementHelper elementHelper;
-    protected static Properties properties;
+    protected WebDriver driver;
+    protected ElementHelper elementHelper;
+    protected RunConfig config;
 
     @BeforeAll
-    public static void setUp() {
-        loadProperties();
-        driver = DriverManager.getDriver();
-        driver.get(properties.getProperty("baseUrl"));
+    public void setUp() {
+        config = RunConfig.get();
+        driver = DriverManager.getDriver(browserProfile());
         elementHelper = new ElementHelper(driver);
+        SessionStateCache sessionState = SessionStateCache.getInstance();
+        String baseUrl = config.baseUrl();
+        if (sessionState.restore(driver)) {
+            driver.get(startUrl());
+            if (elementHelper.acceptCookiesIfPresent()) {
+                sessionState.capture(driver);
+            }
+            return;
+        }
+        driver.get(baseUrl);
         elementHelper.acceptCookiesIfPresent();
+        sessionState.capture(driver);
+        if (!startUrl().equals(baseUrl)) {
+            driver.get(startUrl());
+        }
     }
 
-    private static void loadProperties() {
-        properties = new Properties();
-        try (InputStream input = BaseTest.class.getClassLoader().getResourceAsStream("config.properties")) {
-            if (input == null) {
-                throw new IOException("Cannot find config.properties in classpath");
-            }
-            properties.load(input);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load config.properties from classpath", e);
+    /**
+     * The page the tests of this class start on. With a cached session state the browser
+     * goes there directly; otherwise it passes the base URL first to accept cookies.
+     */
+    protected String startUrl() {
+        return config.baseUrl();
+    }
+
+    /**
+     * The browser profile this class runs on: the one named by {@link UseBrowserProfile}
+     * if present, otherwise the run-wide default.
+     */
+    protected BrowserProfile browserProfile() {
+        UseBrowserProfile profile = getClass().getAnnotation(UseBrowserProfile.class);
+        return profile != null ? profile.value() : DriverManager.getDefaultProfile();
+    }
+
+    /**
+     * Closes tabs the test opened, so later tests start with a single tab.
+     */
+    @AfterEach
+    public void closeStaleTabs() {
+        if (driver != null) {
+            WindowContexts.of(driver).closeStale();
         }
     }
 
     @AfterAll
-    public static void tearDown() {
-        DriverManager.quitDriver();
+    public void tearDown() {
+        DriverManager.releaseDriver();
+        driver = null;
+        elementHelper = null;
     }
 
-    public static class ScreenshotOnFailureExtension implements TestExecutionExceptionHandler {
+    /**
+     * Gives every test its own correlation ID in the event log and flushes the log once
+     * the whole run has finished. Registered first so its flush runs after the other
+     * extensions' end-of-run output.
+     */
+    public static class LogContextExtension
+            implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+        private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(LogContextExtension.class, key -> new LogFlusher(), LogFlusher.class);
+            EventLog.setCurrentTest(context.getRequiredTestClass().getSimpleName());
+        }
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            EventLog.setCurrentTest(context.getRequiredTestClass().getSimpleName()
+                + "#" + context.getRequiredTestMethod().getName());
+        }
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            EventLog.setCurrentTest(context.getRequiredTestClass().getSimpleName());
+        }
+
+        @Override
+        public void afterAll(ExtensionContext context) {
+            EventLog.setCurrentTest(null);
+        }
+
+        private static final class LogFlusher implements ExtensionContext.Store.CloseableResource {
+            @Override
+            public void close() {
+                if (!EventLog.flush(FLUSH_TIMEOUT)) {
+                    System.err.printf("✗ Log events were still being written after %ds%n", FLUSH_TIMEOUT.toSeconds());
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes a screenshot when a test fails and writes the last recorded steps of the
+     * {@link FlightRecorder} next to it. Screenshots are written in the background; the
+     * writer is flushed once the whole run has finished.
+     */
+    public static class ScreenshotOnFailureExtension implements BeforeAllCallback, TestExecutionExceptionHandler {
+        private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(30);
+        private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(ScreenshotOnFailureExtension.class, key -> new ArtifactFlusher(),
+                    ArtifactFlusher.class);
+        }
+
         @Override
         public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+            ElementHelper elementHelper = context.getTestInstance()
+                .filter(BaseTest.class::isInstance)
+                .map(instance -> ((BaseTest) instance).elementHelper)
+                .orElse(null);
             if (elementHelper != null) {
                 String testName = context.getTestMethod()
                     .map(method -> method.getDeclaringClass().getSimpleName() + "_" + method.getName())
                     .orElse("unknown");
-                elementHelper.takeScreenshot(testName);
+                String screenshot = elementHelper.takeScreenshot(testName);
+                // Named after the test, like the screenshot next to it.
+                Path directory = screenshot != null
+                    ? Paths.get(screenshot).toAbsolutePath().getParent()
+                    : Paths.get("test-output", "screenshots");
+                dumpRecentSteps(directory.resolve(String.format("actions_%s_%s.txt",
+                    testName, LocalDateTime.now().format(DUMP_TIMESTAMP))).toString());
             }
             throw throwable;
         }
+
+        private static void dumpRecentSteps(String file) {
+            if (!FlightRecorder.isEnabled()) {
+                return;
+            }
+            try {
+                Path dump = FlightRecorder.dump(Paths.get(file));
+                if (dump != null) {
+                    System.out.printf("✓ Recent steps saved: %s%n", dump);
+                }
+            } catch (IOException e) {
+                System.err.printf("✗ Failed to save recent steps to %s: %s%n", file, e.getMessage());
+            }
+        }
+
+        private static final class ArtifactFlusher implements ExtensionContext.Store.CloseableResource {
+            @Override
+            public void close() {
+                if (!ArtifactWriter.getInstance().flush(FLUSH_TIMEOUT)) {
+                    System.err.printf("✗ %d screenshots were still being written after %ds%n",
+                        ArtifactWriter.getInstance().pendingCount(), FLUSH_TIMEOUT.toSeconds());
+                }
+            }
+        }
+    }
+
+    /**
+     * Attributes ElementHelper actions to the running test and writes the performance
+     * report to test-output/performance once the whole run has finished.
+     */
+    public static class PerformanceReportExtension
+            implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+        private static final Path REPORT_DIRECTORY =
+            Paths.get(System.getProperty("performance.reportDir", "test-output/performance"));
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(PerformanceReportExtension.class, key -> new ReportWriter(),
+                    ReportWriter.class);
+            ActionMetrics.setCurrentTest(context.getRequiredTestClass().getSimpleName());
+        }
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            ActionMetrics.setCurrentTest(context.getRequiredTestClass().getSimpleName()
+                + "#" + context.getRequiredTestMethod().getName());
+        }
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            ActionMetrics.setCurrentTest(context.getRequiredTestClass().getSimpleName());
+        }
+
+        @Override
+        public void afterAll(ExtensionContext context) {
+            ActionMetrics.setCurrentTest(null);
+        }
+
+        private static final class ReportWriter implements ExtensionContext.Store.CloseableResource {
+            @Override
+            public void close() throws IOException {
+                Path report = PerformanceReport.write(REPORT_DIRECTORY);
+                System.out.printf("✓ Performance report saved: %s%n", report);
+            }
+        }
     }
 }
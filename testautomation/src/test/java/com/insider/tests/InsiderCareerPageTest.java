@@ -4,13 +4,23 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.insider.helper.LinkedPagesResult;
+import com.insider.helper.PageCheck;
+import com.insider.helper.StreamOptions;
+import com.insider.helper.TextMatcher;
+
 public class InsiderCareerPageTest extends BaseTest {
+    /** The job list renders more cards while scrolling; stop at the first wrong row. */
+    private static final StreamOptions JOB_LIST = StreamOptions.defaults().withFailFast(true);
+
+    @Override
+    protected String startUrl() {
+        return "https://useinsider.com/careers/quality-assurance/";
+    }
 
     @Test
     @DisplayName("Verify QA Career Page and Job Application Process")
     public void filterCareerJobs() {  
-        elementHelper.navigateToUrl("https://useinsider.com/careers/quality-assurance/");
-
         assertDoesNotThrow(() -> elementHelper.click("seeAllQAjobs"), // Element adı düzeltildi
                 "Clicking on 'See All QA Jobs' button should not throw an exception");
 
@@ -24,27 +34,35 @@ public class InsiderCareerPageTest extends BaseTest {
                 "Clicking on blank area to close dropdown should not throw an exception");
 
         assertDoesNotThrow(() -> {
-            boolean allJobsValid = elementHelper.verifyTextInElements("jobTitles", "Quality Assurance");
+            boolean allJobsValid = elementHelper.verifyTextInElements("jobTitles", "Quality Assurance", JOB_LIST);
             if (!allJobsValid) {
                 throw new AssertionError("Some job titles do not contain 'Quality Assurance'");
             }
         }, "Verifying QA positions in job list should not throw an exception");
 
         assertDoesNotThrow(() -> {
-            boolean allLocationsValid = elementHelper.verifyTextInElements("jobLocations", "Istanbul, Turkiye");
+            boolean allLocationsValid = elementHelper.verifyTextInElements("jobLocations", "Istanbul, Turkiye", JOB_LIST);
             if (!allLocationsValid) {
                 throw new AssertionError("Some job locations are not in Istanbul, Turkey");
             }
         }, "Verifying Istanbul locations in job list should not throw an exception");
 
+        assertDoesNotThrow(() -> {
+            LinkedPagesResult roles = elementHelper.verifyLinkedPages("roleLinks",
+                    PageCheck.domain("jobs.lever.co"),
+                    PageCheck.titleContainsItemTitle(),
+                    PageCheck.text("roleDetailLocation", TextMatcher.contains("Istanbul")));
+            if (!roles.allPassed()) {
+                throw new AssertionError("Some role pages failed verification: " + roles.failures());
+            }
+        }, "Verifying every role's Lever page should not throw an exception");
+
         assertDoesNotThrow(() -> elementHelper.hoverElement("jobCard"),
                 "Hovering over the first job card should not throw an exception");
 
         assertDoesNotThrow(() -> elementHelper.click("viewRole"),             
                 "Clicking on 'View Role' button should not throw an exception");
 
-        elementHelper.waitForSeconds(2);
-
         assertDoesNotThrow(() -> {
             boolean isDomainValid = elementHelper.verifyDomain("jobs.lever.co");
             if (!isDomainValid) {
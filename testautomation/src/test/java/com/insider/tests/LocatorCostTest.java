@@ -0,0 +1,112 @@
+package com.insider.tests;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.openqa.selenium.WebDriver;
+
+import com.insider.helper.Locator;
+import com.insider.helper.LocatorCost;
+import com.insider.helper.LocatorProfiler;
+import com.insider.helper.LocatorRegistry;
+import com.insider.logging.EventLog;
+import com.insider.manager.DriverManager;
+
+/**
+ * Profiles every registered locator on the pages of {@code -DlocatorCost.pages} (default:
+ * the local careers fixture; recorded pages can be replayed with {@code -DhttpCache.mode=replay})
+ * and fails when one costs more than {@code -DlocatorCost.budgetMicros} per evaluation.
+ * Runs only with {@code mvn test -Plocator-cost}.
+ */
+@Tag("locator-cost")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LocatorCostTest {
+    private static final String FIXTURE = "fixtures/careers.html";
+
+    private final double budgetMicros = Double.parseDouble(System.getProperty("locatorCost.budgetMicros", "250"));
+    private WebDriver driver;
+
+    @BeforeAll
+    public void setUp() {
+        driver = DriverManager.getDriver();
+    }
+
+    @Test
+    @DisplayName("Locators stay within the cost budget")
+    public void locatorsStayWithinCostBudget() throws IOException {
+        Collection<Locator> locators = LocatorRegistry.getInstance().getAll().values();
+        LocatorProfiler profiler = new LocatorProfiler(driver,
+                Duration.ofMillis(Long.getLong("locatorCost.sampleMillis", 20L)), budgetMicros);
+
+        List<LocatorCost> costs = new ArrayList<>();
+        for (String page : pages()) {
+            driver.get(page);
+            costs.addAll(profiler.profile(page, locators));
+        }
+        Path report = Paths.get(System.getProperty("locatorCost.report", "test-output/locator-cost.json"));
+        LocatorProfiler.writeReport(report, costs, budgetMicros);
+        costs.forEach(LocatorCostTest::log);
+        EventLog.info("locatorCost.report", "Locator costs written to %s", report);
+
+        List<LocatorCost> overBudget = costs.stream().filter(LocatorCost::overBudget).toList();
+        assertTrue(overBudget.isEmpty(), () -> "Locators over the budget of " + budgetMicros + " µs: "
+                + overBudget.stream()
+                        .map(cost -> String.format(Locale.ROOT, "%s (%.1f µs on %s)", cost.name(), cost.micros(), cost.page()))
+                        .collect(Collectors.joining(", ")));
+    }
+
+    @AfterAll
+    public void tearDown() {
+        DriverManager.releaseDriver();
+    }
+
+    private static void log(LocatorCost cost) {
+        String line = String.format(Locale.ROOT, "%-22s %8.1f µs %3d match(es)", cost.name(), cost.micros(), cost.matches());
+        if (cost.suggestion() != null) {
+            line += String.format(Locale.ROOT, ", try '%s' (%.1f µs)", cost.suggestion(), cost.suggestionMicros());
+        }
+        if (cost.findings().isEmpty()) {
+            EventLog.info("locatorCost.locator", "%s", line);
+        } else {
+            EventLog.warn("locatorCost.locator", "%s: %s", line, String.join("; ", cost.findings()));
+        }
+    }
+
+    private static List<String> pages() {
+        String pages = System.getProperty("locatorCost.pages", "");
+        if (pages.isBlank()) {
+            return List.of(fixtureUrl());
+        }
+        return Arrays.stream(pages.split(",")).map(String::trim).filter(page -> !page.isEmpty()).toList();
+    }
+
+    private static String fixtureUrl() {
+        URL fixture = LocatorCostTest.class.getClassLoader().getResource(FIXTURE);
+        if (fixture == null) {
+            throw new IllegalStateException("Cannot find " + FIXTURE + " on the test classpath");
+        }
+        try {
+            return Paths.get(fixture.toURI()).toUri().toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}